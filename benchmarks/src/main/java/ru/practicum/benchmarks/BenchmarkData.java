@@ -0,0 +1,83 @@
+package ru.practicum.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BenchmarkData {
+    static final String[] WORDS = {
+            "drill", "saw", "ladder", "hammer", "tent", "kayak", "bicycle", "projector", "camera", "tripod",
+            "cordless", "electric", "folding", "heavy", "compact", "camping", "garden", "mower", "speaker", "grill"
+    };
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "WAITING", "REJECTED"};
+    // the increment of the id sequences, one value reserves this many ids like the server's pooled-lo generator
+    private static final int ID_BLOCK_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    public BenchmarkData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Integer> insertUsers(int count) {
+        List<Integer> ids = ids("users", count);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{ids.get(i), "user " + i, "user" + i + "@benchmarks.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", rows);
+        return ids;
+    }
+
+    public List<Integer> insertItems(int count, List<Integer> owners) {
+        List<Integer> ids = ids("items", count);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = word() + " " + word();
+            String description = word() + " " + word() + " " + word() + " #" + i;
+            rows.add(new Object[]{ids.get(i), name, description, random.nextInt(10) != 0, pick(owners)});
+        }
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, available, owner) " +
+                "values (?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    public void insertBookings(int count, List<Integer> items, List<Integer> bookers) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> ids = ids("bookings", count);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 365) - 24 * 180);
+            LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+            rows.add(new Object[]{ids.get(i), pick(items), Timestamp.valueOf(start), Timestamp.valueOf(end),
+                    pick(bookers), STATUSES[random.nextInt(STATUSES.length)]});
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (id, item_id, start_time, end_time, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // the id columns have no default, so the rows take their ids from the sequence a block at a time
+    private List<Integer> ids(String table, int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            Integer low = jdbcTemplate.queryForObject("select next value for " + table + "_seq", Integer.class);
+            for (int id = low; id < low + ID_BLOCK_SIZE && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private Integer pick(List<Integer> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingStateBenchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private String state;
+
+    private final Pageable pageable = PageRequest.of(0, 20,
+            Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id")));
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private Integer userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.startOnH2();
+        BenchmarkData data = new BenchmarkData(context.getBean(JdbcTemplate.class));
+        List<Integer> users = data.insertUsers(50);
+        data.insertBookings(20_000, data.insertItems(2_000, users), users);
+        bookingService = context.getBean(BookingService.class);
+        userId = users.get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingInfo> booker() {
+        return bookingService.findAllBookingsCustomer(userId, state, null, pageable);
+    }
+
+    @Benchmark
+    public List<BookingInfo> owner() {
+        return bookingService.findAllBookingsOwner(userId, state, null, pageable);
+    }
+}
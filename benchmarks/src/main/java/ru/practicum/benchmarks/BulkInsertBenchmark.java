@@ -0,0 +1,111 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.model.Booking;
+import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.item.model.Item;
+import ru.practicum.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// one operation saves 100k bookings through JPA in a single transaction; batchSize 0 turns JDBC batching off
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+    // bookings kept in the persistence context between flushes
+    private static final int CHUNK = 1_000;
+
+    @Param({"0", "500"})
+    private int batchSize;
+
+    @Param({"100000"})
+    private int bookings;
+
+    private final Random random = new Random(42);
+    private ConfigurableApplicationContext context;
+    private BookingRepository repository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactions;
+    private JdbcTemplate jdbcTemplate;
+    private List<Integer> users;
+    private List<Integer> items;
+    private List<Booking> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.startOnH2("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        repository = context.getBean(BookingRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        transactions = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkData data = new BenchmarkData(jdbcTemplate);
+        users = data.insertUsers(1_000);
+        items = data.insertItems(10_000, users);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        batch = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 365));
+            batch.add(Booking.builder()
+                    .item(Item.builder().id(items.get(random.nextInt(items.size()))).build())
+                    .booker(User.builder().id(users.get(random.nextInt(users.size()))).build())
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(72)))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteBookings() {
+        jdbcTemplate.update("delete from bookings");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer insertBookings() {
+        return transactions.execute(status -> {
+            for (int from = 0; from < batch.size(); from += CHUNK) {
+                repository.saveAll(batch.subList(from, Math.min(from + CHUNK, batch.size())));
+                entityManager.flush();
+                entityManager.clear();
+            }
+            return batch.get(batch.size() - 1).getId();
+        });
+    }
+}
@@ -0,0 +1,190 @@
+package ru.practicum.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.Booker;
+import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.item.model.Item;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// run with -prof gc and compare gc.alloc.rate.norm, the bytes allocated per proxied response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayPassThroughBenchmark {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MappingJackson2HttpMessageConverter jsonConverter =
+            new MappingJackson2HttpMessageConverter(objectMapper);
+    private final ByteArrayHttpMessageConverter bytesConverter = new ByteArrayHttpMessageConverter();
+
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private RestTemplate rest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingInfo> list = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            list.add(BookingInfo.builder()
+                    .id(i).item(Item.builder().id(i).name("item " + i).build())
+                    .start(now.plusDays(i)).end(now.plusDays(i + 1))
+                    .booker(Booker.builder().id(2).name("booker").build())
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        byte[] serverResponse = objectMapper.writeValueAsBytes(list);
+        rest = new RestTemplate((uri, method) -> new CannedRequest(uri, method, serverResponse));
+    }
+
+    @Benchmark
+    public long deserializeAndWrite() throws IOException {
+        ResponseEntity<Object> response = rest.exchange("http://server/bookings", HttpMethod.GET, null, Object.class);
+        CountingOutput output = new CountingOutput();
+        jsonConverter.write(response.getBody(), MediaType.APPLICATION_JSON, output);
+        return output.count;
+    }
+
+    @Benchmark
+    public long passThroughBytes() throws IOException {
+        ResponseEntity<byte[]> response = rest.exchange("http://server/bookings", HttpMethod.GET, null, byte[].class);
+        CountingOutput output = new CountingOutput();
+        bytesConverter.write(response.getBody(), MediaType.APPLICATION_JSON, output);
+        return output.count;
+    }
+
+    private static final class CannedRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final byte[] responseBody;
+
+        private CannedRequest(URI uri, HttpMethod method, byte[] responseBody) {
+            this.uri = uri;
+            this.method = method;
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return new ByteArrayOutputStream();
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+            return new CannedResponse(responseBody);
+        }
+    }
+
+    private static final class CannedResponse implements ClientHttpResponse {
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private CannedResponse(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class CountingOutput extends OutputStream implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.mapper.ItemMapper;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.search.DatabaseItemSearch;
+import ru.practicum.item.search.ItemSearch;
+import ru.practicum.item.search.NgramItemSearch;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+    @Param({"1000", "10000"})
+    private int items;
+
+    @Param({"dri", "folding ladder", "nothing-like-this"})
+    private String text;
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+    private ConfigurableApplicationContext context;
+    private ItemSearch database;
+    private ItemSearch ngram;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServerContext.startOnH2("--shareit.search.engine=ngram");
+        BenchmarkData data = new BenchmarkData(context.getBean(JdbcTemplate.class));
+        data.insertItems(items, data.insertUsers(100));
+        NgramItemSearch ngramItemSearch = context.getBean(NgramItemSearch.class);
+        ngramItemSearch.rebuild();
+        ngram = ngramItemSearch;
+        database = new DatabaseItemSearch(context.getBean(ItemRepository.class), context.getBean(ItemMapper.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> database() {
+        return database.search(text, pageable);
+    }
+
+    @Benchmark
+    public List<ItemDto> ngram() {
+        return ngram.search(text, pageable);
+    }
+}
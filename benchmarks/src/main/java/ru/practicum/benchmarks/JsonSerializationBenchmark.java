@@ -0,0 +1,93 @@
+package ru.practicum.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.Booker;
+import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.dto.LastBooking;
+import ru.practicum.booking.dto.NextBooking;
+import ru.practicum.comments.dto.CommentInfo;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.ItemInfo;
+import ru.practicum.item.model.Item;
+import ru.practicum.request.dto.ItemRequestInfo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    // the same defaults the server's HTTP message converters start from
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Param({"20", "200"})
+    private int size;
+
+    private List<BookingInfo> bookings;
+    private List<ItemInfo> items;
+    private List<ItemRequestInfo> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        bookings = new ArrayList<>();
+        items = new ArrayList<>();
+        requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            bookings.add(BookingInfo.builder()
+                    .id(i).item(Item.builder().id(i).name("item " + i).build())
+                    .start(now.plusDays(i)).end(now.plusDays(i + 1))
+                    .booker(Booker.builder().id(2).name("booker").build())
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            items.add(ItemInfo.builder()
+                    .id(i).name("item " + i).description("description " + i).available(true)
+                    .comments(List.of(CommentInfo.builder().id(i).text("great").authorName("booker")
+                            .created(now).build()))
+                    .lastBooking(LastBooking.builder().id(i).bookerId(2).time(now.minusDays(1)).build())
+                    .nextBooking(NextBooking.builder().id(i + 1).bookerId(2).time(now.plusDays(1)).build())
+                    .build());
+            requests.add(ItemRequestInfo.builder()
+                    .id(i).description("request " + i).created(now)
+                    .items(List.of(ItemDto.builder().id(i).name("item " + i).description("description " + i)
+                            .available(true).requestId(i).build()))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] bookingInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] itemInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] itemRequestInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(requests);
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.BookingFromRepository;
+import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.mapper.BookingMapper;
+import ru.practicum.booking.mapper.BookingMapperImpl;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.ItemInfo;
+import ru.practicum.item.mapper.ItemMapper;
+import ru.practicum.item.mapper.ItemMapperImpl;
+import ru.practicum.item.model.Item;
+import ru.practicum.request.dto.ItemRequestInfo;
+import ru.practicum.request.mapper.RequestMapper;
+import ru.practicum.request.mapper.RequestMapperImpl;
+import ru.practicum.request.model.ItemRequest;
+import ru.practicum.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+    private final RequestMapper requestMapper = new RequestMapperImpl();
+
+    @Param({"20", "200"})
+    private int size;
+
+    private List<BookingFromRepository> bookings;
+    private List<Item> items;
+    private List<ItemRequest> requests;
+    private List<ItemDto> requestItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1).name("owner").email("owner@benchmarks.ru").build();
+        bookings = new ArrayList<>();
+        items = new ArrayList<>();
+        requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            bookings.add(BookingFromRepository.builder()
+                    .bookingId(i).itemId(i).name("item " + i)
+                    .start(now.plusDays(i)).end(now.plusDays(i + 1))
+                    .bookerId(2).bookerName("booker").status(BookingStatus.APPROVED)
+                    .build());
+            items.add(Item.builder().id(i).name("item " + i).description("description " + i)
+                    .available(true).owner(owner).build());
+            requests.add(ItemRequest.builder().id(i).description("request " + i).requestor(owner)
+                    .created(now).build());
+        }
+        requestItems = List.of(ItemDto.builder().id(1).name("item").description("description")
+                .available(true).requestId(1).build());
+    }
+
+    @Benchmark
+    public List<BookingInfo> bookingInfo() {
+        List<BookingInfo> result = new ArrayList<>(bookings.size());
+        for (BookingFromRepository booking : bookings) {
+            result.add(bookingMapper.toDto(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemInfo> itemInfo() {
+        List<ItemInfo> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(itemMapper.toDto(item, new ArrayList<>(), null, null));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDto> itemDto() {
+        List<ItemDto> result = new ArrayList<>(items.size());
+        for (Item item : items) {
+            result.add(itemMapper.toDto(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemRequestInfo> itemRequestInfo() {
+        List<ItemRequestInfo> result = new ArrayList<>(requests.size());
+        for (ItemRequest request : requests) {
+            result.add(requestMapper.toDto(request, requestItems));
+        }
+        return result;
+    }
+}
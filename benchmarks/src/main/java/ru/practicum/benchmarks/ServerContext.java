@@ -0,0 +1,45 @@
+package ru.practicum.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.ShareItServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class ServerContext {
+    private static final String DATABASE_URL = "jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1";
+    private static final String[] H2_ARGS = {
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=bench",
+            "--spring.datasource.password=bench",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.cache.type=none",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN",
+            "--logging.level.org.springframework.transaction.interceptor=WARN",
+            "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"
+    };
+
+    private ServerContext() {
+    }
+
+    public static ConfigurableApplicationContext startOnH2(String... args) {
+        List<String> arguments = new ArrayList<>(List.of("--shareit.schema.migrate=true"));
+        arguments.addAll(Arrays.asList(args));
+        return startOnH2Database(DATABASE_URL, arguments.toArray(new String[0]));
+    }
+
+    // the schema is only validated unless the args turn on shareit.schema.migrate or the migrate profile
+    public static ConfigurableApplicationContext startOnH2Database(String url, String... args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(H2_ARGS));
+        arguments.add("--spring.datasource.url=" + url);
+        arguments.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// one operation is a whole server boot: migrating an empty database, or starting on a seeded one
+// as production does (default) or with the seed profile wiping it like the old data.sql did (seed)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class EmptyDatabase {
+        private int boots;
+        private String url;
+        private ConfigurableApplicationContext context;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            url = "jdbc:h2:mem:startup-empty-" + boots++ + ";DB_CLOSE_DELAY=-1";
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            context.close();
+            new JdbcTemplate(new SingleConnectionDataSource(url, "bench", "bench", true)).execute("shutdown");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SeededDatabase {
+        private static final String URL = "jdbc:h2:mem:startup-seeded;DB_CLOSE_DELAY=-1";
+
+        @Param({"default", "seed"})
+        private String profile;
+
+        @Param({"100000"})
+        private int bookings;
+
+        private SingleConnectionDataSource dataSource;
+        private ConfigurableApplicationContext context;
+
+        @Setup(Level.Trial)
+        public void migrate() {
+            ServerContext.startOnH2Database(URL, "--shareit.schema.migrate=true").close();
+            dataSource = new SingleConnectionDataSource(URL, "bench", "bench", true);
+            seed();
+        }
+
+        @TearDown(Level.Invocation)
+        public void stop() {
+            context.close();
+            // the seed profile leaves the tables empty, the next boot needs the rows back
+            if (profile.equals("seed")) {
+                seed();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            new JdbcTemplate(dataSource).execute("shutdown");
+            dataSource.destroy();
+        }
+
+        private void seed() {
+            BenchmarkData data = new BenchmarkData(new JdbcTemplate(dataSource));
+            List<Integer> users = data.insertUsers(1_000);
+            data.insertBookings(bookings, data.insertItems(10_000, users), users);
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext emptyDatabase(EmptyDatabase database) {
+        database.context = ServerContext.startOnH2Database(database.url, "--spring.profiles.active=migrate");
+        return database.context;
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext seededDatabase(SeededDatabase database) {
+        database.context = ServerContext.startOnH2Database(SeededDatabase.URL,
+                "--spring.profiles.active=" + database.profile);
+        return database.context;
+    }
+}
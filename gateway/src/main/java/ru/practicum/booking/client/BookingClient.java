@@ -3,41 +3,64 @@ package ru.practicum.booking.client;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.client.BaseClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         @Qualifier("shareItServerStreamingRequestFactory") ClientHttpRequestFactory streamingRequestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+                .requestFactory(() -> requestFactory)
+                .build(), streamingRequestFactory);
     }
 
     public ResponseEntity<Object> createBooking(Integer userId, BookingDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
+    public ResponseEntity<Object> createBookings(Integer userId, List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
+    }
+
     public ResponseEntity<Object> approvingBooking(Integer userId, Integer bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
+    public ResponseEntity<Object> cancelBooking(Integer userId, Integer bookingId) {
+        return patch("/" + bookingId + "/cancel", userId);
+    }
+
     public ResponseEntity<Object> findBooking(Integer userId, Integer bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> findAllBookingsCustomer(Integer userId, String state, Integer from, Integer size) {
+    public ResponseEntity<Object> findAllBookingsCustomer(Integer userId, String state, Integer from, Integer size,
+                                                          String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "size", size,
+                    "cursor", cursor);
+            return get("?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -45,11 +68,33 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findAllBookingsOwner(Integer userId, String state, Integer from, Integer size) {
+    public ResponseEntity<Object> findAllBookingsOwner(Integer userId, String state, Integer from, Integer size,
+                                                       String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "size", size,
+                    "cursor", cursor);
+            return get("/owner?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
+
+    public ResponseEntity<StreamingResponseBody> exportBookingsCustomer(Integer userId, String state, String format) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "format", format);
+        return getStream("/export?state={state}&format={format}", userId, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportBookingsOwner(Integer userId, String state, String format) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "format", format);
+        return getStream("/owner/export?state={state}&format={format}", userId, parameters);
+    }
 }
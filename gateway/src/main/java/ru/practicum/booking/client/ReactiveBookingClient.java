@@ -0,0 +1,100 @@
+package ru.practicum.booking.client;
+
+import ru.practicum.client.HttpClientProperties;
+import ru.practicum.client.ReactiveBaseClient;
+import ru.practicum.booking.dto.BookingDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector, HttpClientProperties properties) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build(), properties.getStreamReadTimeout());
+    }
+
+    public Mono<ResponseEntity<Object>> createBooking(Integer userId, BookingDto bookingDto) {
+        return post("", userId, bookingDto);
+    }
+
+    public Mono<ResponseEntity<Object>> createBookings(Integer userId, List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> approvingBooking(Integer userId, Integer bookingId, Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<Object>> cancelBooking(Integer userId, Integer bookingId) {
+        return patch("/" + bookingId + "/cancel", userId, null);
+    }
+
+    public Mono<ResponseEntity<Object>> findBooking(Integer userId, Integer bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllBookingsCustomer(Integer userId, String state, Integer from, Integer size,
+                                                          String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "size", size,
+                    "cursor", cursor);
+            return get("?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "from", from,
+                "size", size);
+        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllBookingsOwner(Integer userId, String state, Integer from, Integer size,
+                                                       String cursor) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state,
+                    "size", size,
+                    "cursor", cursor);
+            return get("/owner?state={state}&size={size}&cursor={cursor}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "from", from,
+                "size", size);
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookingsCustomer(Integer userId, String state, String format) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "format", format);
+        return getStream("/export?state={state}&format={format}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookingsOwner(Integer userId, String state, String format) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "format", format);
+        return getStream("/owner/export?state={state}&format={format}", userId, parameters);
+    }
+}
@@ -4,21 +4,29 @@ import ru.practicum.booking.client.BookingClient;
 import ru.practicum.booking.dto.BookingDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Validated
 @Slf4j
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final BookingClient client;
 
     @PostMapping
@@ -28,6 +36,14 @@ public class BookingController {
         return client.createBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createBookings(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                 @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                 @RequestBody List<@Valid BookingDto> bookingDtos) {
+        log.info("Creating a batch of {} bookings, from userId={}", bookingDtos.size(), userId);
+        return client.createBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> approvingBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
                                                    @PathVariable Integer bookingId,
@@ -36,6 +52,13 @@ public class BookingController {
         return client.approvingBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/{bookingId}/cancel")
+    public ResponseEntity<Object> cancelBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                @PathVariable Integer bookingId) {
+        log.info("Canceling bookingId={} by userId={}", bookingId, userId);
+        return client.cancelBooking(userId, bookingId);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> findBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
                                               @PathVariable Integer bookingId) {
@@ -48,10 +71,11 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
             @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
 
-        log.info("Get bookings with state {} to userId={} from={} to size={}", state, userId, from, size);
-        return client.findAllBookingsCustomer(userId, state, from, size);
+        log.info("Get bookings with state {} to userId={} from={} to size={} cursor={}", state, userId, from, size, cursor);
+        return client.findAllBookingsCustomer(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
@@ -59,9 +83,29 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
             @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+
+        log.info("Get bookings with state {} to owner with id={} from={} to size={} cursor={}",
+                state, userId, from, size, cursor);
+        return client.findAllBookingsOwner(userId, state, from, size, cursor);
+    }
 
-        log.info("Get bookings with state {} to owner with id={} from={} to size={}", state, userId, from, size);
-        return client.findAllBookingsOwner(userId, state, from, size);
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsCustomer(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        log.info("Export bookings with state {} as {} to userId={}", state, format, userId);
+        return client.exportBookingsCustomer(userId, state, format);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsOwner(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        log.info("Export bookings with state {} as {} to owner with id={}", state, format, userId);
+        return client.exportBookingsOwner(userId, state, format);
     }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.booking.controller;
+
+import ru.practicum.booking.client.ReactiveBookingClient;
+import ru.practicum.booking.dto.BookingDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+public class ReactiveBookingController {
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final ReactiveBookingClient client;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                      @Valid @RequestBody BookingDto bookingDto) {
+        log.info("Creating ru.practicum.booking {}, from userId={}", bookingDto, userId);
+        return client.createBooking(userId, bookingDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createBookings(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                       @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                       @RequestBody List<@Valid BookingDto> bookingDtos) {
+        log.info("Creating a batch of {} bookings, from userId={}", bookingDtos.size(), userId);
+        return client.createBookings(userId, bookingDtos);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> approvingBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                         @PathVariable Integer bookingId,
+                                                         @RequestParam("approved") Boolean approved) {
+        log.info("Approving bookingId={}, with {} status", bookingId, approved);
+        return client.approvingBooking(userId, bookingId, approved);
+    }
+
+    @PatchMapping("/{bookingId}/cancel")
+    public Mono<ResponseEntity<Object>> cancelBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                      @PathVariable Integer bookingId) {
+        log.info("Canceling bookingId={} by userId={}", bookingId, userId);
+        return client.cancelBooking(userId, bookingId);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> findBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                    @PathVariable Integer bookingId) {
+        log.info("Get ru.practicum.booking with id={} to userId={}", bookingId, userId);
+        return client.findBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAllBookingsCustomer(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
+            @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
+            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+
+        log.info("Get bookings with state {} to userId={} from={} to size={} cursor={}", state, userId, from, size, cursor);
+        return client.findAllBookingsCustomer(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> findAllBookingsOwner(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
+            @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
+            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+
+        log.info("Get bookings with state {} to owner with id={} from={} to size={} cursor={}",
+                state, userId, from, size, cursor);
+        return client.findAllBookingsOwner(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookingsCustomer(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        log.info("Export bookings with state {} as {} to userId={}", state, format, userId);
+        return client.exportBookingsCustomer(userId, state, format);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookingsOwner(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        log.info("Export bookings with state {} as {} to owner with id={}", state, format, userId);
+        return client.exportBookingsOwner(userId, state, format);
+    }
+}
@@ -1,18 +1,38 @@
 package ru.practicum.client;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    @Nullable
+    private final ClientHttpRequestFactory streamingRequestFactory;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ClientHttpRequestFactory streamingRequestFactory) {
         this.rest = rest;
+        this.streamingRequestFactory = streamingRequestFactory;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -75,20 +95,77 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    // RestTemplate buffers the whole body for its interceptors, so a stream goes through the request factory
+    protected ResponseEntity<Object> postStream(String path, Integer userId, MediaType contentType, InputStream body) {
+        URI uri = rest.getUriTemplateHandler().expand(path);
+        try {
+            ClientHttpRequest request = createStreamingRequest(uri, HttpMethod.POST, userId);
+            request.getHeaders().setContentType(contentType);
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(output -> StreamUtils.copy(body, output));
+            } else {
+                StreamUtils.copy(body, request.getBody());
+            }
+            try (ClientHttpResponse response = request.execute()) {
+                return ServerResponses.passThrough(response.getStatusCode(), response.getHeaders(),
+                        StreamUtils.copyToByteArray(response.getBody()));
+            }
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on POST request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    // the server's response is copied to the caller as it arrives, holding the connection until it ends
+    protected ResponseEntity<StreamingResponseBody> getStream(String path, Integer userId,
+                                                              Map<String, Object> parameters) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters);
+        try {
+            ClientHttpRequest request = createStreamingRequest(uri, HttpMethod.GET, userId);
+            request.getHeaders().setAccept(List.of(MediaType.ALL));
+            ClientHttpResponse response = request.execute();
+            RelayedResponse body = new RelayedResponse(response);
+            try {
+                // MVC copies the body on its async executor, the response is released also if that never happens
+                RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+                if (attributes instanceof ServletRequestAttributes) {
+                    WebAsyncUtils.getAsyncManager(((ServletRequestAttributes) attributes).getRequest())
+                            .registerCallableInterceptor(body, body);
+                }
+                return ServerResponses.passThroughStream(response.getStatusCode(), response.getHeaders(), body);
+            } catch (IOException | RuntimeException e) {
+                body.cancel();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    private ClientHttpRequest createStreamingRequest(URI uri, HttpMethod method, Integer userId) throws IOException {
+        if (streamingRequestFactory == null) {
+            throw new IllegalStateException("The client has no streaming request factory");
+        }
+        ClientHttpRequest request = streamingRequestFactory.createRequest(uri, method);
+        request.getHeaders().addAll(defaultHeaders(userId));
+        return request;
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Integer userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        // the server's JSON is handed back untouched, there is nothing in it the gateway needs to read
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ServerResponses.passThrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return ServerResponses.passThrough(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Integer userId) {
@@ -100,18 +177,4 @@ public class BaseClient {
         }
         return headers;
     }
-
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
-
-        return responseBuilder.build();
-    }
-}
\ No newline at end of file
+}
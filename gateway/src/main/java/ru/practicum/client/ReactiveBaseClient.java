@@ -0,0 +1,137 @@
+package ru.practicum.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+public class ReactiveBaseClient {
+    protected final WebClient web;
+    @Nullable
+    private final Duration streamReadTimeout;
+
+    public ReactiveBaseClient(WebClient web) {
+        this(web, null);
+    }
+
+    public ReactiveBaseClient(WebClient web, @Nullable Duration streamReadTimeout) {
+        this.web = web;
+        this.streamReadTimeout = streamReadTimeout;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Integer userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Integer userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Integer userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Integer userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Integer userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Integer userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Integer userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> postStream(String path, Integer userId, MediaType contentType,
+                                                      Flux<DataBuffer> body) {
+        return web.post()
+                .uri(path)
+                .headers(headers -> {
+                    defaultHeaders(headers, userId);
+                    headers.setContentType(contentType);
+                })
+                .httpRequest(this::streamReadTimeout)
+                .body(BodyInserters.fromDataBuffers(body))
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> ServerResponses.passThrough(response.getStatusCode(), response.getHeaders(),
+                        response.getBody()));
+    }
+
+    // the body is forwarded buffer by buffer, error statuses included
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> getStream(String path, Integer userId,
+                                                              Map<String, Object> parameters) {
+        return web.get()
+                .uri(path, parameters)
+                .headers(headers -> {
+                    defaultHeaders(headers, userId);
+                    headers.setAccept(List.of(MediaType.ALL));
+                })
+                .httpRequest(this::streamReadTimeout)
+                .retrieve()
+                .onStatus(HttpStatus::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> ServerResponses.passThroughStream(response.getStatusCode(), response.getHeaders(),
+                        response.getBody()));
+    }
+
+    // the connector's response timeout is sized for plain requests, a stream gets its own
+    private void streamReadTimeout(ClientHttpRequest request) {
+        if (streamReadTimeout != null) {
+            request.<HttpClientRequest>getNativeRequest().responseTimeout(streamReadTimeout);
+        }
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Integer userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = web.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> defaultHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> withBody = body != null ? request.bodyValue(body) : request;
+
+        // error statuses are the server's answer too, so they are passed through rather than raised
+        return withBody.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> ServerResponses.passThrough(response.getStatusCode(), response.getHeaders(),
+                        response.getBody()));
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Integer userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.client;
+
+import org.apache.http.conn.EofSensorInputStream;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// copies the server's response to the caller and gives its pooled connection back exactly once: after the copy,
+// or when the async request completes without it, on a timeout, an error, a rejected task or a gone caller
+class RelayedResponse implements StreamingResponseBody, CallableProcessingInterceptor {
+    private final ClientHttpResponse response;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    RelayedResponse(ClientHttpResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        boolean copied = false;
+        try {
+            StreamUtils.copy(response.getBody(), output);
+            copied = true;
+        } finally {
+            release(copied);
+        }
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+        cancel();
+    }
+
+    void cancel() {
+        release(false);
+    }
+
+    private void release(boolean copied) {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        if (!copied) {
+            abort();
+        }
+        response.close();
+    }
+
+    // closing reads the rest of the body to keep the connection, for an unfinished export that is all of it
+    private void abort() {
+        try {
+            InputStream body = response.getBody();
+            if (body instanceof EofSensorInputStream) {
+                ((EofSensorInputStream) body).abortConnection();
+            }
+        } catch (IOException ignored) {
+            // the connection is already broken, closing the response is all that is left
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+import java.util.Set;
+
+public final class ServerResponses {
+    // describe the connection to the server, the gateway's own container sets them for the caller
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "upgrade");
+
+    private ServerResponses() {
+    }
+
+    public static ResponseEntity<Object> passThrough(HttpStatus status, @Nullable HttpHeaders headers,
+                                                     @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(gatewayHeaders(headers));
+
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
+        }
+
+        return responseBuilder.build();
+    }
+
+    public static <T> ResponseEntity<T> passThroughStream(HttpStatus status, @Nullable HttpHeaders headers, T body) {
+        return ResponseEntity.status(status).headers(gatewayHeaders(headers)).body(body);
+    }
+
+    private static HttpHeaders gatewayHeaders(@Nullable HttpHeaders headers) {
+        HttpHeaders gatewayHeaders = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    gatewayHeaders.addAll(name, values);
+                }
+            });
+        }
+        return gatewayHeaders;
+    }
+}
@@ -4,31 +4,43 @@ import ru.practicum.client.BaseClient;
 import ru.practicum.item.dto.CommentDto;
 import ru.practicum.item.dto.ItemDto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.io.InputStream;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Qualifier("shareItServerStreamingRequestFactory") ClientHttpRequestFactory streamingRequestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build());
+                .requestFactory(() -> requestFactory)
+                .build(), streamingRequestFactory);
     }
 
     public ResponseEntity<Object> createItem(Integer userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> importItems(Integer userId, MediaType contentType, InputStream body) {
+        return postStream("/import", userId, contentType, body);
+    }
+
     public ResponseEntity<Object> updateItem(Integer userId, Integer itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
@@ -57,4 +69,14 @@ public class ItemClient extends BaseClient {
     public ResponseEntity<Object> addComment(Integer userId, Integer itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public ResponseEntity<StreamingResponseBody> exportItems(Integer userId, String format) {
+        Map<String, Object> parameters = Map.of("format", format);
+        return getStream("/export?format={format}", userId, parameters);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportComments(Integer userId, String format) {
+        Map<String, Object> parameters = Map.of("format", format);
+        return getStream("/comments/export?format={format}", userId, parameters);
+    }
 }
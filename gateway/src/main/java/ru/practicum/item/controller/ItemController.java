@@ -5,16 +5,22 @@ import ru.practicum.item.dto.CommentDto;
 import ru.practicum.item.dto.ItemDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
 import java.util.ArrayList;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
@@ -28,6 +34,15 @@ public class ItemController {
         return client.createItem(userId, itemDto);
     }
 
+    // the body is handed to the server as it arrives, the server validates every entry
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Object> importItems(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) {
+        log.info("Importing items of {} from ru.practicum.user with id={}", contentType, userId);
+        return client.importItems(userId, contentType, body);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") Integer userId,
                               @PathVariable Integer itemId, @RequestBody ItemDto itemDto) {
@@ -72,4 +87,20 @@ public class ItemController {
                                  @Valid @RequestBody CommentDto commentDto) {
         return client.addComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        log.info("Export items as {} to ru.practicum.user with id={}", format, userId);
+        return client.exportItems(userId, format);
+    }
+
+    @GetMapping("/comments/export")
+    public ResponseEntity<StreamingResponseBody> exportComments(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        log.info("Export comments on the items as {} to ru.practicum.user with id={}", format, userId);
+        return client.exportComments(userId, format);
+    }
 }
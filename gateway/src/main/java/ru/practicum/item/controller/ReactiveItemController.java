@@ -0,0 +1,107 @@
+package ru.practicum.item.controller;
+
+import ru.practicum.item.client.ReactiveItemClient;
+import ru.practicum.item.dto.CommentDto;
+import ru.practicum.item.dto.ItemDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.ArrayList;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveItemController {
+    private final ReactiveItemClient client;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                           @Valid @RequestBody ItemDto itemDto) {
+        log.info("Creating ru.practicum.item {} from ru.practicum.user with id={}", itemDto, userId);
+        return client.createItem(userId, itemDto);
+    }
+
+    // the body is handed to the server as it arrives, the server validates every entry
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    @RequestBody Flux<DataBuffer> body) {
+        log.info("Importing items of {} from ru.practicum.user with id={}", contentType, userId);
+        return client.importItems(userId, contentType, body);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                    @PathVariable Integer itemId, @RequestBody ItemDto itemDto) {
+        log.info("Update ru.practicum.item with id={} from ru.practicum.user with id={} with body {}", itemId, userId, itemDto);
+        return client.updateItem(userId, itemId, itemDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> findItem(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                   @PathVariable Integer itemId) {
+        log.info("Get ru.practicum.item with id={} from ru.practicum.user with id={}", itemId, userId);
+        return client.findItem(userId, itemId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAllItemsByUser(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
+            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+
+        log.info("Get all items to ru.practicum.user with id={}", userId);
+        return client.findAllItemsByUser(userId, from, size);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchItemForRent(
+            @RequestParam("text") String text,
+            @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
+            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+
+        if (text.isEmpty()) {
+            return Mono.just(ResponseEntity.ok(new ArrayList<>()));
+        }
+
+        log.info("Get items for rent, by input={}", text);
+        return client.searchItemForRent(text, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                       @PathVariable Integer itemId,
+                                       @Valid @RequestBody CommentDto commentDto) {
+        return client.addComment(userId, itemId, commentDto);
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportItems(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        log.info("Export items as {} to ru.practicum.user with id={}", format, userId);
+        return client.exportItems(userId, format);
+    }
+
+    @GetMapping("/comments/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportComments(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        log.info("Export comments on the items as {} to ru.practicum.user with id={}", format, userId);
+        return client.exportComments(userId, format);
+    }
+}
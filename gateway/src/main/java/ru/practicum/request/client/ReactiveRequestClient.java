@@ -0,0 +1,62 @@
+package ru.practicum.request.client;
+
+import ru.practicum.client.ReactiveBaseClient;
+import ru.practicum.request.dto.ItemRequestDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(builder
+                .baseUrl(serverUrl + API_PREFIX)
+                .clientConnector(connector)
+                .build());
+    }
+
+    public Mono<ResponseEntity<Object>> createItemRequest(Integer userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllItemRequestsByUser(Integer userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllItemRequests(Integer userId, Integer from, Integer size, String cursor,
+                                                            LocalDateTime since) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        StringBuilder path = new StringBuilder("/all?size={size}");
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path.append("&cursor={cursor}");
+        } else {
+            parameters.put("from", from);
+            path.append("&from={from}");
+        }
+        if (since != null) {
+            parameters.put("since", since);
+            path.append("&since={since}");
+        }
+        return get(path.toString(), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findItemRequest(Integer userId, Integer requestId) {
+        return get("/" + requestId, userId);
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -11,8 +13,10 @@ import ru.practicum.request.dto.ItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 @Slf4j
@@ -36,10 +40,13 @@ public class ItemRequestController {
     public ResponseEntity<Object> findAllItemRequests(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
 
-        log.info("Get all requests with ru.practicum.user id={}", userId);
-        return client.findAllItemRequests(userId, from, size);
+        log.info("Get all requests with ru.practicum.user id={} cursor={} since={}", userId, cursor, since);
+        return client.findAllItemRequests(userId, from, size, cursor, since);
     }
 
     @GetMapping("/{requestId}")
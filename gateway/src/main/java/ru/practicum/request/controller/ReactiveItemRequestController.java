@@ -0,0 +1,58 @@
+package ru.practicum.request.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.request.client.ReactiveRequestClient;
+import ru.practicum.request.dto.ItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveItemRequestController {
+    private final ReactiveRequestClient client;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                  @Valid @RequestBody ItemRequestDto itemRequestDto) {
+        log.info("Creating ru.practicum.request {} from ru.practicum.user with id={}", itemRequestDto, userId);
+        return client.createItemRequest(userId, itemRequestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAllItemRequestsByUser(@RequestHeader("X-Sharer-User-Id") Integer userId) {
+        log.info("Get all requests to ru.practicum.user with id={}", userId);
+        return client.findAllItemRequestsByUser(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> findAllItemRequests(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @PositiveOrZero @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
+            @Positive @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+
+        log.info("Get all requests with ru.practicum.user id={} cursor={} since={}", userId, cursor, since);
+        return client.findAllItemRequests(userId, from, size, cursor, since);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> findItemRequest(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                 @PathVariable Integer requestId) {
+        return client.findItemRequest(userId, requestId);
+    }
+}
@@ -0,0 +1,244 @@
+package ru.practicum.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@Slf4j
+public class DataGenerator {
+    static final String[] WORDS = {
+            "drill", "saw", "ladder", "hammer", "tent", "kayak", "bicycle", "projector", "camera", "tripod",
+            "cordless", "electric", "folding", "heavy", "compact", "camping", "garden", "mower", "speaker", "grill",
+            "sleeping", "bag", "stroller", "scooter", "snowboard", "skis", "helmet", "generator", "pump", "wrench"
+    };
+    private static final int BATCH_SIZE = 1000;
+
+    private final Connection connection;
+    private final LoadTestSettings settings;
+    private final Random random;
+    private SequenceIds sequenceIds;
+
+    public DataGenerator(Connection connection, LoadTestSettings settings) {
+        this.connection = connection;
+        this.settings = settings;
+        this.random = new Random(settings.getRandomSeed());
+    }
+
+    public void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        clear();
+        // the id columns have no default, every row takes its id from the table's sequence explicitly
+        sequenceIds = new SequenceIds(connection);
+        List<Integer> users = insertUsers();
+        List<Integer> requests = insertRequests(users);
+        Map<Integer, Integer> owners = insertItems(users, requests);
+        List<PastBooking> pastBookings = insertBookings(owners, users);
+        insertComments(pastBookings);
+        connection.setAutoCommit(true);
+    }
+
+    private void clear() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("comments", "bookings", "items", "requests", "users")) {
+                statement.executeUpdate("delete from " + table);
+            }
+        }
+        connection.commit();
+    }
+
+    private List<Integer> insertUsers() throws SQLException {
+        List<Integer> users = new ArrayList<>(settings.getUsers());
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into users (id, name, email) values (?, ?, ?)")) {
+            for (int i = 0; i < settings.getUsers(); i++) {
+                int id = sequenceIds.next("users");
+                users.add(id);
+                insert.setInt(1, id);
+                insert.setString(2, "User " + i);
+                insert.setString(3, "user" + i + "@loadtest.ru");
+                addToBatch(insert, i);
+            }
+            flush(insert);
+        }
+        log.info("Inserted {} users", settings.getUsers());
+        return users;
+    }
+
+    private List<Integer> insertRequests(List<Integer> users) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> requests = new ArrayList<>(settings.getRequests());
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into requests (id, description, requestor, created) values (?, ?, ?, ?)")) {
+            for (int i = 0; i < settings.getRequests(); i++) {
+                int id = sequenceIds.next("requests");
+                requests.add(id);
+                insert.setInt(1, id);
+                insert.setString(2, "Looking for a " + word() + " " + word());
+                insert.setInt(3, pick(users));
+                insert.setTimestamp(4, Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 365))));
+                addToBatch(insert, i);
+            }
+            flush(insert);
+        }
+        log.info("Inserted {} requests", settings.getRequests());
+        return requests;
+    }
+
+    private Map<Integer, Integer> insertItems(List<Integer> users, List<Integer> requests) throws SQLException {
+        // a few power owners hold most of the catalogue, everybody else owns a handful of items
+        List<Integer> powerOwners = users.subList(0, settings.getPowerOwners());
+        List<Integer> regularOwners = users.subList(settings.getPowerOwners(), users.size());
+        List<Integer> itemOwners = new ArrayList<>(settings.getItems());
+        Map<Integer, Integer> owners = new HashMap<>();
+        try (PreparedStatement insert = connection.prepareStatement("insert into items " +
+                "(id, name, description, available, owner, request_id) values (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < settings.getItems(); i++) {
+                Integer owner = random.nextDouble() < settings.getPowerOwnerShare() && !powerOwners.isEmpty()
+                        ? pick(powerOwners)
+                        : pick(regularOwners);
+                int id = sequenceIds.next("items");
+                itemOwners.add(owner);
+                owners.put(id, owner);
+                insert.setInt(1, id);
+                insert.setString(2, capitalize(word()) + " " + word());
+                insert.setString(3, capitalize(word()) + " " + word() + " " + word() + ", item " + i);
+                insert.setBoolean(4, random.nextInt(10) != 0);
+                insert.setInt(5, owner);
+                if (!requests.isEmpty() && random.nextInt(10) == 0) {
+                    insert.setInt(6, pick(requests));
+                } else {
+                    insert.setNull(6, java.sql.Types.INTEGER);
+                }
+                addToBatch(insert, i);
+            }
+            flush(insert);
+        }
+        log.info("Inserted {} items, {} of them owned by {} power owners", settings.getItems(),
+                itemOwners.stream().filter(powerOwners::contains).count(),
+                powerOwners.size());
+        return owners;
+    }
+
+    private List<PastBooking> insertBookings(Map<Integer, Integer> owners, List<Integer> users) throws SQLException {
+        // hot items get most of the bookings; every item keeps its own timeline so periods never overlap
+        List<Integer> byPopularity = new ArrayList<>(owners.keySet());
+        Collections.sort(byPopularity);
+        Collections.shuffle(byPopularity, random);
+        ZipfSampler popularity = new ZipfSampler(byPopularity.size(), settings.getBookingSkew());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Map<Integer, LocalDateTime> timelines = new HashMap<>();
+        List<PastBooking> pastBookings = new ArrayList<>();
+        try (PreparedStatement insert = connection.prepareStatement("insert into bookings " +
+                "(id, item_id, start_time, end_time, booker_id, status) values (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < settings.getBookings(); i++) {
+                Integer itemId = byPopularity.get(popularity.next(random));
+                LocalDateTime start = timelines
+                        .computeIfAbsent(itemId, id -> now.minusDays(365 + random.nextInt(30)))
+                        .plusHours(random.nextInt(24));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+                timelines.put(itemId, end);
+                Integer booker = bookerOf(owners.get(itemId), users);
+                String status = statusOf(end.isBefore(now));
+                insert.setInt(1, sequenceIds.next("bookings"));
+                insert.setInt(2, itemId);
+                insert.setTimestamp(3, Timestamp.valueOf(start));
+                insert.setTimestamp(4, Timestamp.valueOf(end));
+                insert.setInt(5, booker);
+                insert.setString(6, status);
+                addToBatch(insert, i);
+                if (end.isBefore(now) && status.equals("APPROVED")) {
+                    pastBookings.add(new PastBooking(itemId, booker, end));
+                }
+            }
+            flush(insert);
+        }
+        log.info("Inserted {} bookings over {} items", settings.getBookings(), timelines.size());
+        return pastBookings;
+    }
+
+    private void insertComments(List<PastBooking> pastBookings) throws SQLException {
+        if (pastBookings.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < settings.getComments(); i++) {
+                PastBooking booking = pastBookings.get(random.nextInt(pastBookings.size()));
+                insert.setInt(1, sequenceIds.next("comments"));
+                insert.setString(2, "The " + word() + " was " + (random.nextBoolean() ? "great" : "fine"));
+                insert.setInt(3, booking.itemId);
+                insert.setInt(4, booking.bookerId);
+                insert.setTimestamp(5, Timestamp.valueOf(booking.end.plusHours(1)));
+                addToBatch(insert, i);
+            }
+            flush(insert);
+        }
+        log.info("Inserted {} comments", settings.getComments());
+    }
+
+    private Integer bookerOf(Integer owner, List<Integer> users) {
+        Integer booker = pick(users);
+        while (booker.equals(owner)) {
+            booker = pick(users);
+        }
+        return booker;
+    }
+
+    private String statusOf(boolean past) {
+        int roll = random.nextInt(10);
+        if (roll == 0) {
+            return "REJECTED";
+        }
+        if (!past && roll < 5) {
+            return "WAITING";
+        }
+        return "APPROVED";
+    }
+
+    private void addToBatch(PreparedStatement insert, int index) throws SQLException {
+        insert.addBatch();
+        if ((index + 1) % BATCH_SIZE == 0) {
+            flush(insert);
+        }
+    }
+
+    private void flush(PreparedStatement insert) throws SQLException {
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private Integer pick(List<Integer> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static final class PastBooking {
+        private final Integer itemId;
+        private final Integer bookerId;
+        private final LocalDateTime end;
+
+        private PastBooking(Integer itemId, Integer bookerId, LocalDateTime end) {
+            this.itemId = itemId;
+            this.bookerId = bookerId;
+            this.end = end;
+        }
+    }
+}
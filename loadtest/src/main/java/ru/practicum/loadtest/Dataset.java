@@ -0,0 +1,86 @@
+package ru.practicum.loadtest;
+
+import lombok.Value;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Value
+public class Dataset {
+    List<Integer> users;
+    List<Integer> powerOwners;
+    // ordered from the most booked item down, which is the order the popularity sampler ranks them in
+    List<SeededItem> items;
+    List<Integer> requests;
+    List<SeededBooking> bookings;
+    ZipfSampler popularity;
+
+    public static Dataset load(Connection connection, LoadTestSettings settings) throws SQLException {
+        List<Integer> users = new ArrayList<>();
+        List<Integer> powerOwners = new ArrayList<>();
+        List<SeededItem> items = new ArrayList<>();
+        List<Integer> requests = new ArrayList<>();
+        List<SeededBooking> bookings = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery("select id from users order by id")) {
+                while (rows.next()) {
+                    users.add(rows.getInt(1));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("select owner from items group by owner " +
+                    "order by count(*) desc, owner limit " + settings.getPowerOwners())) {
+                while (rows.next()) {
+                    powerOwners.add(rows.getInt(1));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("select i.id, i.owner, i.available from items i " +
+                    "left join bookings b on b.item_id = i.id group by i.id, i.owner, i.available " +
+                    "order by count(b.id) desc, i.id")) {
+                while (rows.next()) {
+                    items.add(new SeededItem(rows.getInt(1), rows.getInt(2), rows.getBoolean(3)));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("select id from requests order by id")) {
+                while (rows.next()) {
+                    requests.add(rows.getInt(1));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("select id, booker_id from bookings order by id")) {
+                while (rows.next()) {
+                    bookings.add(new SeededBooking(rows.getInt(1), rows.getInt(2)));
+                }
+            }
+        }
+        if (users.isEmpty() || items.isEmpty() || bookings.isEmpty()) {
+            throw new IllegalStateException("The database has no users, items or bookings, run the seed phase first");
+        }
+        return new Dataset(users, powerOwners, items, requests, bookings,
+                new ZipfSampler(items.size(), settings.getBookingSkew()));
+    }
+
+    public Integer anyUser(Random random) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    public SeededItem popularItem(Random random) {
+        return items.get(popularity.next(random));
+    }
+
+    @Value
+    public static class SeededItem {
+        int id;
+        int ownerId;
+        boolean available;
+    }
+
+    @Value
+    public static class SeededBooking {
+        int id;
+        int bookerId;
+    }
+}
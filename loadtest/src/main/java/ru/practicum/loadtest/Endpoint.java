@@ -0,0 +1,127 @@
+package ru.practicum.loadtest;
+
+import ru.practicum.loadtest.Dataset.SeededBooking;
+import ru.practicum.loadtest.Dataset.SeededItem;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+public enum Endpoint {
+    ITEM("item") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/items/" + dataset.popularItem(random).getId(), dataset.anyUser(random));
+        }
+    },
+    SEARCH("search") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            String text = DataGenerator.WORDS[random.nextInt(DataGenerator.WORDS.length)];
+            return get(baseUrl + "/items/search?from=0&size=20&text=" + text, dataset.anyUser(random));
+        }
+    },
+    OWNER_ITEMS("owner-items") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/items?from=0&size=20", ownerOf(dataset, random));
+        }
+    },
+    BOOKINGS("bookings") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            SeededBooking booking = dataset.getBookings().get(random.nextInt(dataset.getBookings().size()));
+            return get(baseUrl + "/bookings?size=20&state=" + state(random), booking.getBookerId());
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/bookings/owner?size=20&state=" + state(random), ownerOf(dataset, random));
+        }
+    },
+    BOOKING("booking") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            SeededBooking booking = dataset.getBookings().get(random.nextInt(dataset.getBookings().size()));
+            return get(baseUrl + "/bookings/" + booking.getId(), booking.getBookerId());
+        }
+    },
+    REQUESTS("requests") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/requests", dataset.anyUser(random));
+        }
+    },
+    ALL_REQUESTS("all-requests") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            return get(baseUrl + "/requests/all?from=" + random.nextInt(100) + "&size=20", dataset.anyUser(random));
+        }
+    },
+    CREATE_BOOKING("create-booking") {
+        @Override
+        HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random) {
+            SeededItem item = dataset.popularItem(random);
+            while (!item.isAvailable()) {
+                item = dataset.popularItem(random);
+            }
+            Integer booker = dataset.anyUser(random);
+            while (booker == item.getOwnerId()) {
+                booker = dataset.anyUser(random);
+            }
+            // far past the seeded timelines, so a new booking never runs into an approved one
+            LocalDateTime start = LocalDateTime.now().withNano(0).plusYears(50).plusHours(random.nextInt(24 * 365));
+            String body = "{\"itemId\":" + item.getId() + ",\"start\":\"" + start + "\",\"end\":\""
+                    + start.plusHours(1 + random.nextInt(48)) + "\"}";
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                    .header("X-Sharer-User-Id", String.valueOf(booker))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    };
+
+    static final String DEFAULT_MIX = "item:25,search:15,owner-items:10,bookings:15,owner-bookings:10,"
+            + "booking:5,requests:5,all-requests:5,create-booking:10";
+    private static final String[] STATES = {"ALL", "ALL", "ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final String name;
+
+    Endpoint(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    abstract HttpRequest.Builder request(String baseUrl, Dataset dataset, Random random);
+
+    static Endpoint byName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.name.equals(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + name);
+    }
+
+    private static HttpRequest.Builder get(String url, Integer userId) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET();
+    }
+
+    private static Integer ownerOf(Dataset dataset, Random random) {
+        // half of the owner traffic comes from the power owners with the biggest catalogues
+        if (!dataset.getPowerOwners().isEmpty() && random.nextBoolean()) {
+            return dataset.getPowerOwners().get(random.nextInt(dataset.getPowerOwners().size()));
+        }
+        return dataset.getItems().get(random.nextInt(dataset.getItems().size())).getOwnerId();
+    }
+
+    private static String state(Random random) {
+        return STATES[random.nextInt(STATES.length)];
+    }
+}
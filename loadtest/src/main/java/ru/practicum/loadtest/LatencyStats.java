@@ -0,0 +1,62 @@
+package ru.practicum.loadtest;
+
+import java.util.Arrays;
+
+public class LatencyStats {
+    private long[] latencies = new long[1024];
+    private int count;
+    private long clientErrors;
+    private long serverErrors;
+    private long failures;
+
+    public void record(int status, long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status >= 500) {
+            serverErrors++;
+        } else if (status >= 400) {
+            clientErrors++;
+        }
+    }
+
+    public void recordFailure() {
+        failures++;
+    }
+
+    public void merge(LatencyStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(0, other.latencies[i]);
+        }
+        clientErrors += other.clientErrors;
+        serverErrors += other.serverErrors;
+        failures += other.failures;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getClientErrors() {
+        return clientErrors;
+    }
+
+    public long getServerErrors() {
+        return serverErrors;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+}
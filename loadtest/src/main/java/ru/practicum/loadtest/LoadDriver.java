@@ -0,0 +1,101 @@
+package ru.practicum.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+public class LoadDriver {
+    private final LoadTestSettings settings;
+    private final Dataset dataset;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public LoadDriver(LoadTestSettings settings, Dataset dataset) {
+        this.settings = settings;
+        this.dataset = dataset;
+        this.endpoints = settings.getMix().keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += settings.getMix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public Map<Endpoint, LatencyStats> run() throws InterruptedException, ExecutionException {
+        long measureFrom = System.nanoTime() + settings.getWarmup().toNanos();
+        long stopAt = measureFrom + settings.getDuration().toNanos();
+        log.info("Driving {} with {} clients: {}s warmup, {}s measured", settings.getGatewayUrl(),
+                settings.getConcurrency(), settings.getWarmup().toSeconds(), settings.getDuration().toSeconds());
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getConcurrency());
+        List<Future<Map<Endpoint, LatencyStats>>> workers = new ArrayList<>();
+        for (int i = 0; i < settings.getConcurrency(); i++) {
+            Random random = new Random(settings.getRandomSeed() + i);
+            workers.add(executor.submit(() -> drive(random, measureFrom, stopAt)));
+        }
+        Map<Endpoint, LatencyStats> result = new EnumMap<>(Endpoint.class);
+        try {
+            for (Future<Map<Endpoint, LatencyStats>> worker : workers) {
+                worker.get().forEach((endpoint, stats) ->
+                        result.computeIfAbsent(endpoint, key -> new LatencyStats()).merge(stats));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private Map<Endpoint, LatencyStats> drive(Random random, long measureFrom, long stopAt) {
+        Map<Endpoint, LatencyStats> stats = new EnumMap<>(Endpoint.class);
+        while (!Thread.currentThread().isInterrupted()) {
+            long startedAt = System.nanoTime();
+            if (startedAt >= stopAt) {
+                break;
+            }
+            Endpoint endpoint = pick(random);
+            LatencyStats endpointStats = startedAt >= measureFrom
+                    ? stats.computeIfAbsent(endpoint, key -> new LatencyStats())
+                    : new LatencyStats();
+            try {
+                HttpResponse<Void> response = client.send(
+                        endpoint.request(settings.getGatewayUrl(), dataset, random)
+                                .timeout(Duration.ofSeconds(30))
+                                .build(),
+                        HttpResponse.BodyHandlers.discarding());
+                endpointStats.record(response.statusCode(), System.nanoTime() - startedAt);
+            } catch (IOException e) {
+                endpointStats.recordFailure();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return stats;
+    }
+
+    private Endpoint pick(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+}
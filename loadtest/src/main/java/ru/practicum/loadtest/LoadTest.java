@@ -0,0 +1,51 @@
+package ru.practicum.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Map;
+
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        Dataset dataset;
+        try (Connection connection = DriverManager.getConnection(settings.getJdbcUrl(),
+                settings.getJdbcUser(), settings.getJdbcPassword())) {
+            if (settings.isSeed()) {
+                new DataGenerator(connection, settings).seed();
+            }
+            dataset = Dataset.load(connection, settings);
+        }
+        log.info("Dataset: {} users, {} items, {} requests, {} bookings", dataset.getUsers().size(),
+                dataset.getItems().size(), dataset.getRequests().size(), dataset.getBookings().size());
+        if (!settings.isRun()) {
+            return;
+        }
+        Map<Endpoint, LatencyStats> result = new LoadDriver(settings, dataset).run();
+        print(result, settings.getDuration().toMillis() / 1000.0);
+    }
+
+    private static void print(Map<Endpoint, LatencyStats> result, double seconds) {
+        String format = "%-16s %9s %9s %7s %7s %7s %9s %9s %9s %9s%n";
+        System.out.printf(format, "endpoint", "requests", "req/s", "4xx", "5xx", "io",
+                "p50 ms", "p90 ms", "p99 ms", "max ms");
+        LatencyStats total = new LatencyStats();
+        for (Map.Entry<Endpoint, LatencyStats> entry : result.entrySet()) {
+            printRow(format, entry.getKey().getName(), entry.getValue(), seconds);
+            total.merge(entry.getValue());
+        }
+        printRow(format, "total", total, seconds);
+    }
+
+    private static void printRow(String format, String name, LatencyStats stats, double seconds) {
+        System.out.printf(format, name, stats.getCount(), String.format("%.1f", stats.getCount() / seconds),
+                stats.getClientErrors(), stats.getServerErrors(), stats.getFailures(),
+                String.format("%.2f", stats.percentileMillis(50)),
+                String.format("%.2f", stats.percentileMillis(90)),
+                String.format("%.2f", stats.percentileMillis(99)),
+                String.format("%.2f", stats.percentileMillis(100)));
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Value
+@Builder
+public class LoadTestSettings {
+    String jdbcUrl;
+    String jdbcUser;
+    String jdbcPassword;
+    String gatewayUrl;
+    boolean seed;
+    boolean run;
+    long randomSeed;
+    int users;
+    int powerOwners;
+    double powerOwnerShare;
+    int items;
+    int requests;
+    int bookings;
+    double bookingSkew;
+    int comments;
+    int concurrency;
+    Duration warmup;
+    Duration duration;
+    Map<Endpoint, Integer> mix;
+
+    public static LoadTestSettings parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String phase = values.getOrDefault("phase", "all");
+        LoadTestSettings settings = LoadTestSettings.builder()
+                .jdbcUrl(values.getOrDefault("jdbc-url", "jdbc:h2:~/shareit-loadtest;AUTO_SERVER=TRUE"))
+                .jdbcUser(values.getOrDefault("jdbc-user", "loadtest"))
+                .jdbcPassword(values.getOrDefault("jdbc-password", "loadtest"))
+                .gatewayUrl(values.getOrDefault("gateway-url", "http://localhost:8080"))
+                .seed(phase.equals("all") || phase.equals("seed"))
+                .run(phase.equals("all") || phase.equals("run"))
+                .randomSeed(Long.parseLong(values.getOrDefault("random-seed", "42")))
+                .users(Integer.parseInt(values.getOrDefault("users", "1000")))
+                .powerOwners(Integer.parseInt(values.getOrDefault("power-owners", "5")))
+                .powerOwnerShare(Double.parseDouble(values.getOrDefault("power-owner-share", "0.6")))
+                .items(Integer.parseInt(values.getOrDefault("items", "20000")))
+                .requests(Integer.parseInt(values.getOrDefault("requests", "2000")))
+                .bookings(Integer.parseInt(values.getOrDefault("bookings", "50000")))
+                .bookingSkew(Double.parseDouble(values.getOrDefault("booking-skew", "1.1")))
+                .comments(Integer.parseInt(values.getOrDefault("comments", "10000")))
+                .concurrency(Integer.parseInt(values.getOrDefault("concurrency", "16")))
+                .warmup(Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))))
+                .duration(Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))))
+                .mix(parseMix(values.getOrDefault("mix", Endpoint.DEFAULT_MIX)))
+                .build();
+        if (!settings.seed && !settings.run) {
+            throw new IllegalArgumentException("Unknown phase " + phase + ", expected all, seed or run");
+        }
+        if (settings.powerOwners >= settings.users) {
+            throw new IllegalArgumentException("There must be more users than power owners");
+        }
+        return settings;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in the mix but got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Endpoint.byName(parts[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no endpoints with a positive weight");
+        }
+        return weights;
+    }
+}
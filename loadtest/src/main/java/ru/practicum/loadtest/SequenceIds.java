@@ -0,0 +1,43 @@
+package ru.practicum.loadtest;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+// hands out ids the way the server's pooled-lo generator does: one nextval reserves the next 100 ids,
+// so the seed takes as many ids as it inserts rows and stays clear of the blocks the server takes
+public class SequenceIds {
+    static final int BLOCK_SIZE = 100;
+
+    private final Connection connection;
+    private final boolean postgres;
+    private final Map<String, int[]> blocks = new HashMap<>();
+
+    public SequenceIds(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+    }
+
+    public int next(String table) throws SQLException {
+        // block[0] is the next free id, block[1] the first id past the block
+        int[] block = blocks.get(table);
+        if (block == null || block[0] == block[1]) {
+            int low = nextValue(table + "_seq");
+            block = new int[]{low, low + BLOCK_SIZE};
+            blocks.put(table, block);
+        }
+        return block[0]++;
+    }
+
+    private int nextValue(String sequence) throws SQLException {
+        String query = postgres ? "select nextval('" + sequence + "')" : "select next value for " + sequence;
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(query)) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+}
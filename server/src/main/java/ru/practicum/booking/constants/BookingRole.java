@@ -0,0 +1,6 @@
+package ru.practicum.booking.constants;
+
+public enum BookingRole {
+    BOOKER,
+    OWNER
+}
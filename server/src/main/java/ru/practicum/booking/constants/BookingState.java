@@ -0,0 +1,61 @@
+package ru.practicum.booking.constants;
+
+import ru.practicum.booking.model.Booking;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum BookingState {
+    ALL {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, Expression<LocalDateTime> now, CriteriaBuilder builder) {
+            return builder.conjunction();
+        }
+    },
+    CURRENT {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, Expression<LocalDateTime> now, CriteriaBuilder builder) {
+            return builder.and(
+                    builder.greaterThan(booking.get("end"), now),
+                    builder.lessThan(booking.get("start"), now));
+        }
+    },
+    PAST {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, Expression<LocalDateTime> now, CriteriaBuilder builder) {
+            return builder.lessThan(booking.get("end"), now);
+        }
+    },
+    FUTURE {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, Expression<LocalDateTime> now, CriteriaBuilder builder) {
+            return builder.greaterThan(booking.get("start"), now);
+        }
+    },
+    WAITING {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, Expression<LocalDateTime> now, CriteriaBuilder builder) {
+            return builder.equal(booking.get("status"), BookingStatus.WAITING);
+        }
+    },
+    REJECTED {
+        @Override
+        public Predicate toPredicate(Path<Booking> booking, Expression<LocalDateTime> now, CriteriaBuilder builder) {
+            return builder.equal(booking.get("status"), BookingStatus.REJECTED);
+        }
+    };
+
+    public abstract Predicate toPredicate(Path<Booking> booking, Expression<LocalDateTime> now,
+                                          CriteriaBuilder builder);
+
+    public static Optional<BookingState> from(String state) {
+        return Arrays.stream(values())
+                .filter(value -> value.name().equals(state))
+                .findFirst();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.booking.constants;
 
+// a booking only leaves WAITING: the owner approves or rejects it, or the booker cancels it, and that is final
 public enum BookingStatus {
     WAITING,
     APPROVED,
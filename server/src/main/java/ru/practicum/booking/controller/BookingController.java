@@ -1,12 +1,20 @@
 package ru.practicum.booking.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.dto.BookingBatchResult;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.dto.OffsetPageRequest;
 import ru.practicum.booking.service.BookingService;
+import ru.practicum.exceptions.ValidationException;
+import ru.practicum.export.ExportFormat;
 
 import java.util.List;
 
@@ -14,6 +22,8 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService service;
 
     @PostMapping
@@ -22,6 +32,12 @@ public class BookingController {
         return service.createBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBookings(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                   @RequestBody List<BookingDto> bookingDtos) {
+        return service.createBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingInfo approvingBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
                                         @PathVariable Integer bookingId,
@@ -29,6 +45,12 @@ public class BookingController {
         return service.approvingBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/{bookingId}/cancel")
+    public BookingInfo cancelBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                     @PathVariable Integer bookingId) {
+        return service.cancelBooking(userId, bookingId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingInfo findBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
                                    @PathVariable Integer bookingId) {
@@ -36,22 +58,69 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingInfo> findAllBookingsCustomer(
+    public ResponseEntity<List<BookingInfo>> findAllBookingsCustomer(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
             @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
 
-        return service.findAllBookingsCustomer(userId, state, PageRequest.of(from / size, size, Sort.by("start").descending()));
+        List<BookingInfo> bookings = service.findAllBookingsCustomer(userId, state, cursor, pageOf(from, size, cursor));
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingInfo> findAllBookingsOwner(
+    public ResponseEntity<List<BookingInfo>> findAllBookingsOwner(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
             @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+
+        List<BookingInfo> bookings = service.findAllBookingsOwner(userId, state, cursor, pageOf(from, size, cursor));
+        return withNextCursor(bookings, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsCustomer(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        return export(userId, BookingRole.BOOKER, state, format);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsOwner(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) String state,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        return export(userId, BookingRole.OWNER, state, format);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(Integer userId, BookingRole role, String state,
+                                                         String format) {
+        ExportFormat exportFormat = ExportFormat.from(format)
+                .orElseThrow(() -> new ValidationException("Unknown format: " + format));
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(service.exportBookings(userId, role, state, exportFormat));
+    }
+
+    private static Pageable pageOf(Integer from, Integer size, String cursor) {
+        Sort sort = Sort.by("start").descending().and(Sort.by("id").descending());
+        if (cursor != null) {
+            return new OffsetPageRequest(0, size, sort);
+        }
+        return new OffsetPageRequest(from, size, sort);
+    }
 
-        return service.findAllBookingsOwner(userId, state, PageRequest.of(from / size, size, Sort.by("start").descending()));
+    private static ResponseEntity<List<BookingInfo>> withNextCursor(List<BookingInfo> bookings, Integer size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingInfo last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, BookingCursor.after(last).encode())
+                .body(bookings);
     }
 }
@@ -0,0 +1,17 @@
+package ru.practicum.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// the outcome of one entry of a batch, index is its position in the request
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingBatchResult {
+    private Integer index;
+    private BookingInfo booking;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.booking.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingPeriod {
+    private Integer id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
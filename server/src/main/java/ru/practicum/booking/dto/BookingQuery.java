@@ -0,0 +1,18 @@
+package ru.practicum.booking.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.constants.BookingState;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class BookingQuery {
+    BookingRole role;
+    BookingState state;
+    Integer userId;
+    LocalDateTime now;
+    BookingCursor after;
+}
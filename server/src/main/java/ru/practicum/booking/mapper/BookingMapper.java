@@ -8,6 +8,9 @@ import ru.practicum.booking.dto.Booker;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingFromRepository;
 import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.dto.BookingPeriod;
+import ru.practicum.booking.dto.LastBooking;
+import ru.practicum.booking.dto.NextBooking;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.item.model.Item;
 
@@ -25,6 +28,16 @@ public interface BookingMapper {
     @Mapping(target = "booker", ignore = true)
     Booking toModel(BookingDto bookingDto);
 
+    BookingPeriod toPeriod(Booking booking);
+
+    @Mapping(target = "id", source = "bookingId")
+    @Mapping(target = "time", source = "start")
+    LastBooking toLastBooking(BookingFromRepository bookingFromRepository);
+
+    @Mapping(target = "id", source = "bookingId")
+    @Mapping(target = "time", source = "start")
+    NextBooking toNextBooking(BookingFromRepository bookingFromRepository);
+
     @Named("createItem")
     default Item createItem(BookingFromRepository bookingFromRepository) {
         return Item
@@ -0,0 +1,15 @@
+package ru.practicum.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.booking.dto.BookingFromRepository;
+import ru.practicum.booking.dto.BookingQuery;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingQueryRepository {
+    List<BookingFromRepository> findAllBy(BookingQuery query, Pageable pageable);
+
+    Stream<BookingFromRepository> streamAllBy(BookingQuery query, Sort sort);
+}
@@ -0,0 +1,84 @@
+package ru.practicum.booking.repository;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.dto.BookingFromRepository;
+import ru.practicum.booking.dto.BookingQuery;
+import ru.practicum.booking.model.Booking;
+import ru.practicum.export.Exporter;
+import ru.practicum.item.model.Item;
+import ru.practicum.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingFromRepository> findAllBy(BookingQuery query, Pageable pageable) {
+        return createQuery(query, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookingFromRepository> streamAllBy(BookingQuery query, Sort sort) {
+        return createQuery(query, sort)
+                .setHint(QueryHints.HINT_FETCH_SIZE, Integer.valueOf(Exporter.FETCH_SIZE))
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<BookingFromRepository> createQuery(BookingQuery query, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingFromRepository> criteria = builder.createQuery(BookingFromRepository.class);
+        Root<Booking> booking = criteria.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+
+        ParameterExpression<Integer> userId = builder.parameter(Integer.class, "userId");
+        ParameterExpression<LocalDateTime> now = builder.parameter(LocalDateTime.class, "now");
+        ParameterExpression<LocalDateTime> afterStart = builder.parameter(LocalDateTime.class, "afterStart");
+        ParameterExpression<Integer> afterId = builder.parameter(Integer.class, "afterId");
+
+        Path<Integer> user = query.getRole() == BookingRole.OWNER
+                ? item.get("owner").get("id")
+                : booking.get("booker").get("id");
+        criteria.select(builder.construct(BookingFromRepository.class,
+                        booking.get("id"), item.get("id"), item.get("name"), booking.get("start"),
+                        booking.get("end"), booker.get("id"), booker.get("name"), booking.get("status")))
+                .where(builder.equal(user, userId),
+                        query.getState().toPredicate(booking, now, builder),
+                        builder.or(
+                                builder.lessThan(booking.get("start"), afterStart),
+                                builder.and(
+                                        builder.equal(booking.get("start"), afterStart),
+                                        builder.lessThan(booking.get("id"), afterId))))
+                .orderBy(QueryUtils.toOrders(sort, booking, builder));
+
+        TypedQuery<BookingFromRepository> typedQuery = entityManager.createQuery(criteria)
+                .setParameter(userId, query.getUserId())
+                .setParameter(afterStart, query.getAfter().getStart())
+                .setParameter(afterId, query.getAfter().getId());
+        if (criteria.getParameters().contains(now)) {
+            typedQuery.setParameter(now, query.getNow());
+        }
+        return typedQuery;
+    }
+}
@@ -1,124 +1,80 @@
 package ru.practicum.booking.repository;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.constants.BookingStatus;
 import ru.practicum.booking.dto.BookingFromRepository;
-import ru.practicum.booking.dto.LastBooking;
-import ru.practicum.booking.dto.NextBooking;
+import ru.practicum.booking.dto.BookingPeriod;
 import ru.practicum.booking.model.Booking;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingQueryRepository {
 
     @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.booker.id = ?1")
-    List<BookingFromRepository> findAllByBooker(Integer userId, Pageable pageable);
-
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.end > current_timestamp " +
-            "and b.start < current_timestamp")
-    List<BookingFromRepository> findAllCurrentByBooker(Integer userId, Pageable pageable);
+            "(b.id, i.id, i.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
+            "from Item i, Booking b " +
+            "where i.id in ?1 " +
+            "and b.item.id = i.id " +
+            "and b.start = (select max (b2.start) from Booking b2 " +
+            "where b2.item.id = i.id and b2.start < current_timestamp)")
+    List<BookingFromRepository> findLastBookings(Collection<Integer> itemIds);
 
     @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.end < current_timestamp")
-    List<BookingFromRepository> findAllPastByBooker(Integer userId, Pageable pageable);
-
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.start > current_timestamp")
-    List<BookingFromRepository> findAllFutureByBooker(Integer userId, Pageable pageable);
+            "(b.id, i.id, i.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
+            "from Item i, Booking b " +
+            "where i.id in ?1 " +
+            "and b.item.id = i.id " +
+            "and b.start = (select min (b2.start) from Booking b2 " +
+            "where b2.item.id = i.id and b2.start > current_timestamp)")
+    List<BookingFromRepository> findNextBookings(Collection<Integer> itemIds);
 
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.status = ru.practicum.booking.constants.BookingStatus.WAITING")
-    List<BookingFromRepository> findAllWaitingStatusByBooker(Integer userId, Pageable pageable);
-
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
+    @Query("select distinct (b) " +
             "from Booking b " +
             "where b.booker.id = ?1 " +
-            "and b.status = ru.practicum.booking.constants.BookingStatus.REJECTED")
-    List<BookingFromRepository> findAllRejectedStatusByBooker(Integer userId, Pageable pageable);
-
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.item.owner.id = ?1")
-    List<BookingFromRepository> findAllByOwner(Integer userId, Pageable pageable);
-
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.end > current_timestamp " +
-            "and b.start < current_timestamp")
-    List<BookingFromRepository> findAllCurrentByOwner(Integer userId, Pageable pageable);
-
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.end < current_timestamp")
-    List<BookingFromRepository> findAllPastByOwner(Integer userId, Pageable pageable);
+            "and b.item.id = ?2 " +
+            "and b.status = ru.practicum.booking.constants.BookingStatus.APPROVED " +
+            "and b.end < current_timestamp ")
+    List<Optional<Booking>> findByBookerAndItem(Integer userId, Integer itemId);
 
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
+    @Query("select new ru.practicum.booking.dto.BookingPeriod(b.id, b.start, b.end) " +
             "from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.start > current_timestamp")
-    List<BookingFromRepository> findAllFutureByOwner(Integer userId, Pageable pageable);
-
-    @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
-            "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
-            "from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.status = ru.practicum.booking.constants.BookingStatus.WAITING")
-    List<BookingFromRepository> findAllWaitingStatusByOwner(Integer userId, Pageable pageable);
+            "where b.item.id = ?1 " +
+            "and b.status = ru.practicum.booking.constants.BookingStatus.APPROVED " +
+            "and b.end > ?2")
+    List<BookingPeriod> findApprovedPeriods(Integer itemId, LocalDateTime after);
 
     @Query("select new ru.practicum.booking.dto.BookingFromRepository" +
             "(b.id, b.item.id, b.item.name, b.start, b.end, b.booker.id, b.booker.name, b.status) " +
             "from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.status = ru.practicum.booking.constants.BookingStatus.REJECTED")
-    List<BookingFromRepository> findAllRejectedStatusByOwner(Integer userId, Pageable pageable);
-
-    @Query("select new ru.practicum.booking.dto.LastBooking" +
-            "(b1.id, b1.booker.id, b1.start) " +
-            "from Booking b1 " +
-            "where b1.item.id = ?1 " +
-            "and " +
-            "b1.start = (select max (b2.start) from Booking b2 where b2.start < current_timestamp)")
-    LastBooking findLastBooking(Integer itemId);
-
-    @Query("select new ru.practicum.booking.dto.NextBooking" +
-            "(b1.id, b1.booker.id, b1.start) " +
-            "from Booking b1 " +
-            "where b1.item.id = ?1 " +
-            "and " +
-            "b1.start = (select min (b2.start) from Booking b2 where b2.start > current_timestamp)")
-    NextBooking findNextBooking(Integer itemId);
-
-    @Query("select distinct (b) " +
-            "from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.item.id = ?2 " +
+            "where b.item.id in ?1 " +
             "and b.status = ru.practicum.booking.constants.BookingStatus.APPROVED " +
-            "and b.end < current_timestamp ")
-    List<Optional<Booking>> findByBookerAndItem(Integer userId, Integer itemId);
-}
\ No newline at end of file
+            "and b.end > ?2")
+    List<BookingFromRepository> findApprovedBookingsOfItems(Collection<Integer> itemIds, LocalDateTime after);
+
+    // the owner and the waiting status are conditions of the update itself, a change that is not allowed
+    // or that lost a race updates nothing
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("update Booking b " +
+            "set b.status = ?3 " +
+            "where b.id = ?1 " +
+            "and b.status = ru.practicum.booking.constants.BookingStatus.WAITING " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = ?2)")
+    int changeStatus(Integer bookingId, Integer ownerId, BookingStatus to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("update Booking b " +
+            "set b.status = ru.practicum.booking.constants.BookingStatus.CANCELED " +
+            "where b.id = ?1 " +
+            "and b.booker.id = ?2 " +
+            "and b.status = ru.practicum.booking.constants.BookingStatus.WAITING")
+    int cancel(Integer bookingId, Integer bookerId);
+}
@@ -1,19 +1,29 @@
 package ru.practicum.booking.service;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.dto.BookingBatchResult;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.export.ExportFormat;
 
 import java.util.List;
 
 public interface BookingService {
     BookingInfo createBooking(Integer userId, BookingDto bookingDto);
 
+    List<BookingBatchResult> createBookings(Integer userId, List<BookingDto> bookingDtos);
+
     BookingInfo approvingBooking(Integer userId, Integer bookingId, Boolean approved);
 
+    BookingInfo cancelBooking(Integer userId, Integer bookingId);
+
     BookingInfo findBooking(Integer userId, Integer bookingId);
 
-    List<BookingInfo> findAllBookingsCustomer(Integer userId, String state, Pageable pageable);
+    List<BookingInfo> findAllBookingsCustomer(Integer userId, String state, String cursor, Pageable pageable);
+
+    List<BookingInfo> findAllBookingsOwner(Integer userId, String state, String cursor, Pageable pageable);
 
-    List<BookingInfo> findAllBookingsOwner(Integer userId, String state, Pageable pageable);
+    StreamingResponseBody exportBookings(Integer userId, BookingRole role, String state, ExportFormat format);
 }
@@ -1,142 +1,223 @@
 package ru.practicum.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.constants.BookingState;
 import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.BookingBatchResult;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.dto.BookingPeriod;
+import ru.practicum.booking.dto.BookingQuery;
 import ru.practicum.booking.mapper.BookingMapper;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.booking.validation.BookingIntervalCache;
 import ru.practicum.booking.validation.BookingValidation;
+import ru.practicum.cache.CacheInvalidator;
+import ru.practicum.cache.CacheNames;
+import ru.practicum.exceptions.BookerIsOwnerOfItemException;
+import ru.practicum.exceptions.BookingOverlapException;
+import ru.practicum.exceptions.ItemNotFoundException;
 import ru.practicum.exceptions.ValidationException;
+import ru.practicum.export.ExportColumn;
+import ru.practicum.export.ExportFormat;
+import ru.practicum.export.Exporter;
 import ru.practicum.item.model.Item;
+import ru.practicum.item.repository.ItemRepository;
 import ru.practicum.user.model.User;
 import ru.practicum.user.validation.UserValidation;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service("bookingServiceImpl")
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class BookingServiceImpl implements BookingService {
+    private static final Sort EXPORT_ORDER = Sort.by("start").descending().and(Sort.by("id").descending());
+    private static final List<ExportColumn<BookingInfo>> EXPORT_COLUMNS = List.of(
+            ExportColumn.of("id", BookingInfo::getId),
+            ExportColumn.of("start", BookingInfo::getStart),
+            ExportColumn.of("end", BookingInfo::getEnd),
+            ExportColumn.of("status", BookingInfo::getStatus),
+            ExportColumn.of("itemId", booking -> booking.getItem().getId()),
+            ExportColumn.of("itemName", booking -> booking.getItem().getName()),
+            ExportColumn.of("bookerId", booking -> booking.getBooker().getId()),
+            ExportColumn.of("bookerName", booking -> booking.getBooker().getName()));
+
     private final BookingRepository repository;
     private final BookingValidation bookingValidation;
+    private final BookingIntervalCache intervalCache;
+    private final CacheInvalidator cacheInvalidator;
     private final UserValidation userValidation;
+    private final ItemRepository itemRepository;
     private final BookingMapper mapper;
+    private final Exporter exporter;
 
     @Override
     public BookingInfo createBooking(Integer userId, BookingDto bookingDto) {
         User user = userValidation.checkUserExist(userId);
         Item item = bookingValidation.checkItemData(user, bookingDto);
-        Booking booking = mapper.toModel(bookingDto);
-        booking.setItem(item);
-        booking.setBooker(user);
-        booking.setStatus(BookingStatus.WAITING);
-        Booking bookingFromRepository = repository.save(booking);
+        Booking bookingFromRepository = repository.save(newBooking(bookingDto, item, user));
+        cacheInvalidator.bookingChanged(bookingFromRepository);
         return mapper.toDto(bookingFromRepository);
     }
 
     @Override
-    @CachePut(cacheNames = {"approvingBooking"}, key = "{#userId, #bookingId}")
-    public BookingInfo approvingBooking(Integer userId, Integer bookingId, Boolean approved) {
-        Booking booking = bookingValidation.checkIfStatusAlreadyApproved(userId, bookingId, approved);
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-            repository.saveAndFlush(booking);
+    public List<BookingBatchResult> createBookings(Integer userId, List<BookingDto> bookingDtos) {
+        User user = userValidation.checkUserExist(userId);
+        Set<Integer> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Item> items = itemIds.isEmpty() ? Map.of() : itemRepository.findAllWithOwnerByIdIn(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        intervalCache.load(items.keySet());
+        List<BookingBatchResult> results = new ArrayList<>(bookingDtos.size());
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (int index = 0; index < bookingDtos.size(); index++) {
+            BookingDto bookingDto = bookingDtos.get(index);
+            BookingBatchResult result = BookingBatchResult.builder().index(index).build();
+            results.add(result);
+            try {
+                Item item = bookingValidation.checkItemData(user, bookingDto, items);
+                accepted.put(index, newBooking(bookingDto, item, user));
+            } catch (ValidationException | ItemNotFoundException | BookerIsOwnerOfItemException
+                     | BookingOverlapException e) {
+                // only the checks of the entry itself are its error, anything else fails the whole batch
+                result.setError(e.getMessage());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return results;
         }
+        repository.saveAll(accepted.values());
+        accepted.forEach((index, booking) -> results.get(index).setBooking(mapper.toDto(booking)));
+        cacheInvalidator.bookingsCreated(accepted.values());
+        return results;
+    }
+
+    @Override
+    public BookingInfo approvingBooking(Integer userId, Integer bookingId, Boolean approved) {
+        Booking booking = bookingValidation.checkBookingExist(bookingId);
         if (!approved) {
-            booking.setStatus(BookingStatus.REJECTED);
-            repository.saveAndFlush(booking);
+            int updated = repository.changeStatus(bookingId, userId, BookingStatus.REJECTED);
+            requireChanged(updated, userId, bookingId, BookingRole.OWNER);
+            return statusChanged(booking, BookingStatus.REJECTED);
         }
-        return mapper.toDto(booking);
+        Integer itemId = booking.getItem().getId();
+        BookingPeriod period = mapper.toPeriod(booking);
+        intervalCache.reserve(itemId, period);
+        try {
+            int updated = repository.changeStatus(bookingId, userId, BookingStatus.APPROVED);
+            requireChanged(updated, userId, bookingId, BookingRole.OWNER);
+        } catch (DataIntegrityViolationException e) {
+            intervalCache.release(itemId, period);
+            throw new BookingOverlapException("The booking overlaps an approved booking of the item");
+        } catch (RuntimeException e) {
+            intervalCache.release(itemId, period);
+            throw e;
+        }
+        intervalCache.confirm(itemId, period);
+        return statusChanged(booking, BookingStatus.APPROVED);
     }
 
     @Override
-    @Cacheable(cacheNames = {"findBooking"}, key = "{#userId, #bookingId}")
+    public BookingInfo cancelBooking(Integer userId, Integer bookingId) {
+        Booking booking = bookingValidation.checkBookingExist(bookingId);
+        requireChanged(repository.cancel(bookingId, userId), userId, bookingId, BookingRole.BOOKER);
+        return statusChanged(booking, BookingStatus.CANCELED);
+    }
+
+    @Override
+    @Cacheable(cacheNames = {CacheNames.FIND_BOOKING}, key = "{#userId, #bookingId}")
     public BookingInfo findBooking(Integer userId, Integer bookingId) {
         Booking booking = bookingValidation.checkBookingData(userId, bookingId);
         return mapper.toDto(booking);
     }
 
     @Override
-    @Cacheable(cacheNames = {"findAllBookingsCustomer"}, key = "{#userId, #state, #pageable.pageNumber, #pageable.pageSize}")
-    public List<BookingInfo> findAllBookingsCustomer(Integer userId, String state, Pageable pageable) {
-        userValidation.checkUserExist(userId);
-        switch (state) {
-            case "CURRENT":
-                return repository.findAllCurrentByBooker(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "PAST":
-                return repository.findAllPastByBooker(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "FUTURE":
-                return repository.findAllFutureByBooker(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "WAITING":
-                return repository.findAllWaitingStatusByBooker(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "REJECTED":
-                return repository.findAllRejectedStatusByBooker(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "ALL":
-                return repository.findAllByBooker(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-        }
-        throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
+    @Cacheable(cacheNames = {CacheNames.FIND_ALL_BOOKINGS_CUSTOMER}, key = "{#userId, #state, #cursor, #pageable.offset, #pageable.pageSize}")
+    public List<BookingInfo> findAllBookingsCustomer(Integer userId, String state, String cursor,
+                                                     Pageable pageable) {
+        return findAllBookings(BookingRole.BOOKER, userId, state, cursor, pageable);
     }
 
     @Override
-    @Cacheable(cacheNames = {"findAllBookingsOwner"}, key = "{#userId, #state, #pageable.pageNumber, #pageable.pageSize}")
-    public List<BookingInfo> findAllBookingsOwner(Integer userId, String state, Pageable pageable) {
+    @Cacheable(cacheNames = {CacheNames.FIND_ALL_BOOKINGS_OWNER}, key = "{#userId, #state, #cursor, #pageable.offset, #pageable.pageSize}")
+    public List<BookingInfo> findAllBookingsOwner(Integer userId, String state, String cursor,
+                                                  Pageable pageable) {
+        return findAllBookings(BookingRole.OWNER, userId, state, cursor, pageable);
+    }
+
+    @Override
+    public StreamingResponseBody exportBookings(Integer userId, BookingRole role, String state, ExportFormat format) {
         userValidation.checkUserExist(userId);
-        switch (state) {
-            case "CURRENT":
-                return repository.findAllCurrentByOwner(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "PAST":
-                return repository.findAllPastByOwner(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "FUTURE":
-                return repository.findAllFutureByOwner(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "WAITING":
-                return repository.findAllWaitingStatusByOwner(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "REJECTED":
-                return repository.findAllRejectedStatusByOwner(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
-            case "ALL":
-                return repository.findAllByOwner(userId, pageable)
-                        .stream()
-                        .map(mapper::toDto)
-                        .collect(Collectors.toList());
+        BookingQuery query = bookingQuery(role, userId, state, BookingCursor.FIRST);
+        return exporter.export(format, EXPORT_COLUMNS,
+                () -> repository.streamAllBy(query, EXPORT_ORDER).map(mapper::toDto));
+    }
+
+    // the update holds every condition of the change, only when it changed nothing is the booking looked at again
+    private void requireChanged(int updated, Integer userId, Integer bookingId, BookingRole role) {
+        if (updated == 0) {
+            throw bookingValidation.statusChangeFailure(userId, bookingId, role);
         }
-        throw new ValidationException("Unknown state: UNSUPPORTED_STATUS");
+    }
+
+    private BookingInfo statusChanged(Booking booking, BookingStatus status) {
+        booking.setStatus(status);
+        cacheInvalidator.bookingChanged(booking);
+        return mapper.toDto(booking);
+    }
+
+    private Booking newBooking(BookingDto bookingDto, Item item, User user) {
+        Booking booking = mapper.toModel(bookingDto);
+        // an id sent by the client must not turn the insert into an update of another booking
+        booking.setId(null);
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private List<BookingInfo> findAllBookings(BookingRole role, Integer userId, String state, String cursor,
+                                              Pageable pageable) {
+        userValidation.checkUserExist(userId);
+        BookingCursor after = bookingValidation.checkCursor(cursor);
+        BookingQuery query = bookingQuery(role, userId, state, after);
+        return repository.findAllBy(query, pageable)
+                .stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private BookingQuery bookingQuery(BookingRole role, Integer userId, String state, BookingCursor after) {
+        BookingState bookingState = BookingState.from(state)
+                .orElseThrow(() -> new ValidationException("Unknown state: UNSUPPORTED_STATUS"));
+        return BookingQuery.builder()
+                .role(role)
+                .state(bookingState)
+                .userId(userId)
+                .now(LocalDateTime.now())
+                .after(after)
+                .build();
     }
 }
@@ -0,0 +1,207 @@
+package ru.practicum.booking.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.booking.dto.BookingFromRepository;
+import ru.practicum.booking.dto.BookingPeriod;
+import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.exceptions.BookingOverlapException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+// keeps the approved periods of the items in memory, so checking a booking against them needs no query;
+// the periods of an item are loaded outside its stripe lock on the first use and then only kept up to date,
+// a confirmed approval goes into them and deleting a user, with their items and bookings, drops them all.
+// this covers one server instance only: across instances correctness still rests on the exclusion constraint
+// over the approved periods in PostgreSQL, H2 has no such constraint and no such guarantee
+@Component
+@Slf4j
+public class BookingIntervalCache {
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookingRepository repository;
+    // periods of committed approvals, as loaded from the database
+    private final Map<Integer, NavigableMap<LocalDateTime, BookingPeriod>> approvedPeriods;
+    // approvals that are being written and not committed yet, never evicted and never reloaded
+    private final Map<Integer, NavigableMap<LocalDateTime, BookingPeriod>> pendingPeriods = new ConcurrentHashMap<>();
+    // everything about one item happens under its stripe, so a check and the reservation after it are atomic
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // moves on every confirm of a stripe, a load that ran across one may miss it and is not put in
+    private final AtomicLongArray versions = new AtomicLongArray(LOCK_STRIPES);
+
+    public BookingIntervalCache(BookingRepository repository,
+                                @Value("${shareit.booking.interval-cache.max-items:10000}") int maxItems) {
+        this.repository = repository;
+        this.approvedPeriods = Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Entry<Integer, NavigableMap<LocalDateTime, BookingPeriod>> eldest) {
+                        return size() > maxItems && !pendingPeriods.containsKey(eldest.getKey());
+                    }
+                });
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public boolean overlapsApproved(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        while (true) {
+            loadIfAbsent(itemId);
+            synchronized (lockOf(itemId)) {
+                NavigableMap<LocalDateTime, BookingPeriod> approved = approvedPeriods.get(itemId);
+                // evicted between the load and the lock, load it again
+                if (approved != null) {
+                    return overlaps(approved, start, end);
+                }
+            }
+        }
+    }
+
+    // fills the cache for many items with one query, so a batch of bookings is checked in memory
+    public void load(Collection<Integer> itemIds) {
+        List<Integer> missing = itemIds.stream()
+                .filter(itemId -> !approvedPeriods.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Integer, Long> seen = new HashMap<>();
+        missing.forEach(itemId -> seen.put(itemId, versions.get(stripeOf(itemId))));
+        Map<Integer, NavigableMap<LocalDateTime, BookingPeriod>> loaded = new HashMap<>();
+        missing.forEach(itemId -> loaded.put(itemId, new TreeMap<>()));
+        for (BookingFromRepository booking : repository.findApprovedBookingsOfItems(missing, LocalDateTime.now())) {
+            loaded.get(booking.getItemId()).put(booking.getStart(), BookingPeriod.builder()
+                    .id(booking.getBookingId())
+                    .start(booking.getStart())
+                    .end(booking.getEnd())
+                    .build());
+        }
+        loaded.forEach((itemId, periods) -> install(itemId, periods, seen.get(itemId)));
+    }
+
+    public void reserve(Integer itemId, BookingPeriod period) {
+        while (true) {
+            loadIfAbsent(itemId);
+            synchronized (lockOf(itemId)) {
+                NavigableMap<LocalDateTime, BookingPeriod> approved = approvedPeriods.get(itemId);
+                if (approved == null) {
+                    continue;
+                }
+                NavigableMap<LocalDateTime, BookingPeriod> pending = pendingPeriods.get(itemId);
+                boolean overlapsPending = pending != null && overlaps(pending, period.getStart(), period.getEnd());
+                if (overlapsPending || overlapsOther(approved, period)) {
+                    throw overlapOf(itemId, period);
+                }
+                pendingPeriods.computeIfAbsent(itemId, id -> new TreeMap<>()).put(period.getStart(), period);
+                return;
+            }
+        }
+    }
+
+    // the approval is committed, its period moves from the reservations to the approved ones
+    public void confirm(Integer itemId, BookingPeriod period) {
+        synchronized (lockOf(itemId)) {
+            removePending(itemId, period);
+            NavigableMap<LocalDateTime, BookingPeriod> approved = approvedPeriods.get(itemId);
+            if (approved != null) {
+                approved.put(period.getStart(), period);
+            }
+            versions.incrementAndGet(stripeOf(itemId));
+        }
+    }
+
+    public void release(Integer itemId, BookingPeriod period) {
+        synchronized (lockOf(itemId)) {
+            removePending(itemId, period);
+        }
+    }
+
+    // approved bookings went away with the rows they belong to, every item loads again on its next use
+    public void clear() {
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            synchronized (locks[stripe]) {
+                versions.incrementAndGet(stripe);
+            }
+        }
+        approvedPeriods.clear();
+    }
+
+    private void removePending(Integer itemId, BookingPeriod period) {
+        NavigableMap<LocalDateTime, BookingPeriod> pending = pendingPeriods.get(itemId);
+        if (pending == null) {
+            return;
+        }
+        BookingPeriod reserved = pending.get(period.getStart());
+        if (reserved != null && reserved.getId().equals(period.getId())) {
+            pending.remove(period.getStart());
+        }
+        if (pending.isEmpty()) {
+            pendingPeriods.remove(itemId);
+        }
+    }
+
+    private void loadIfAbsent(Integer itemId) {
+        while (!approvedPeriods.containsKey(itemId)) {
+            long seen = versions.get(stripeOf(itemId));
+            install(itemId, loadApproved(itemId), seen);
+        }
+    }
+
+    private void install(Integer itemId, NavigableMap<LocalDateTime, BookingPeriod> periods, long seen) {
+        synchronized (lockOf(itemId)) {
+            if (versions.get(stripeOf(itemId)) == seen) {
+                approvedPeriods.putIfAbsent(itemId, periods);
+            }
+        }
+    }
+
+    private NavigableMap<LocalDateTime, BookingPeriod> loadApproved(Integer itemId) {
+        NavigableMap<LocalDateTime, BookingPeriod> loaded = new TreeMap<>();
+        for (BookingPeriod period : repository.findApprovedPeriods(itemId, LocalDateTime.now())) {
+            loaded.put(period.getStart(), period);
+        }
+        return loaded;
+    }
+
+    private Object lockOf(Integer itemId) {
+        return locks[stripeOf(itemId)];
+    }
+
+    private static int stripeOf(Integer itemId) {
+        return Math.floorMod(itemId.hashCode(), LOCK_STRIPES);
+    }
+
+    private BookingOverlapException overlapOf(Integer itemId, BookingPeriod period) {
+        log.error("Validation failed. The booking id {} overlaps an approved booking of the item id {}",
+                period.getId(), itemId);
+        return new BookingOverlapException("The booking overlaps an approved booking of the item");
+    }
+
+    private static boolean overlaps(NavigableMap<LocalDateTime, BookingPeriod> periods,
+                                    LocalDateTime start, LocalDateTime end) {
+        // approved periods never overlap each other, so only the latest one starting before the end can collide
+        Entry<LocalDateTime, BookingPeriod> candidate = periods.lowerEntry(end);
+        return candidate != null && candidate.getValue().getEnd().isAfter(start);
+    }
+
+    // a booking approved once more does not collide with itself, its update finds it no longer waits
+    private static boolean overlapsOther(NavigableMap<LocalDateTime, BookingPeriod> periods, BookingPeriod period) {
+        Entry<LocalDateTime, BookingPeriod> candidate = periods.lowerEntry(period.getEnd());
+        return candidate != null && !candidate.getValue().getId().equals(period.getId())
+                && candidate.getValue().getEnd().isAfter(period.getStart());
+    }
+}
@@ -1,15 +1,25 @@
 package ru.practicum.booking.validation;
 
 
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.item.model.Item;
 import ru.practicum.user.model.User;
 
+import java.util.Map;
+
 public interface BookingValidation {
     Item checkItemData(User user, BookingDto bookingDto);
 
+    Item checkItemData(User user, BookingDto bookingDto, Map<Integer, Item> items);
+
     Booking checkBookingData(Integer userId, Integer bookingId);
 
-    Booking checkIfStatusAlreadyApproved(Integer userId, Integer bookingId, Boolean approved);
+    Booking checkBookingExist(Integer bookingId);
+
+    RuntimeException statusChangeFailure(Integer userId, Integer bookingId, BookingRole role);
+
+    BookingCursor checkCursor(String cursor);
 }
@@ -3,7 +3,8 @@ package ru.practicum.booking.validation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.booking.repository.BookingRepository;
@@ -12,6 +13,7 @@ import ru.practicum.item.model.Item;
 import ru.practicum.item.repository.ItemRepository;
 import ru.practicum.user.model.User;
 
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -21,6 +23,7 @@ import java.util.Optional;
 public class BookingValidationImpl implements BookingValidation {
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalCache intervalCache;
 
     @Override
     public Booking checkBookingData(Integer userId, Integer bookingId) {
@@ -43,6 +46,17 @@ public class BookingValidationImpl implements BookingValidation {
 
     @Override
     public Item checkItemData(User user, BookingDto bookingDto) {
+        checkPeriod(bookingDto);
+        return checkItem(user, bookingDto, itemRepository.findById(bookingDto.getItemId()));
+    }
+
+    @Override
+    public Item checkItemData(User user, BookingDto bookingDto, Map<Integer, Item> items) {
+        checkPeriod(bookingDto);
+        return checkItem(user, bookingDto, Optional.ofNullable(items.get(bookingDto.getItemId())));
+    }
+
+    private void checkPeriod(BookingDto bookingDto) {
         if (bookingDto.getStart().equals(bookingDto.getEnd())) {
             log.error("Validation failed. The start of the ru.practicum.booking time {} is equal to the end of the ru.practicum.booking time {}",
                     bookingDto.getStart(), bookingDto.getEnd());
@@ -53,7 +67,9 @@ public class BookingValidationImpl implements BookingValidation {
                     bookingDto.getEnd(), bookingDto.getStart());
             throw new ValidationException("The end of the ru.practicum.booking time is before the start time");
         }
-        Optional<Item> item = itemRepository.findById(bookingDto.getItemId());
+    }
+
+    private Item checkItem(User user, BookingDto bookingDto, Optional<Item> item) {
         if (item.isEmpty()) {
             log.error("Validation failed. The ru.practicum.item with the id {} doesn't exists", bookingDto.getItemId());
             throw new ItemNotFoundException("The ru.practicum.item with the id doesn't exists");
@@ -68,31 +84,52 @@ public class BookingValidationImpl implements BookingValidation {
             log.error("Validation failed. The booker is owner of the ru.practicum.booking ru.practicum.item");
             throw new BookerIsOwnerOfItemException("The booker is owner of the ru.practicum.booking ru.practicum.item");
         }
+        if (intervalCache.overlapsApproved(item.get().getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            log.error("Validation failed. The ru.practicum.item with id {} is already booked from {} to {}",
+                    bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd());
+            throw new BookingOverlapException("The ru.practicum.item is already booked for the requested time");
+        }
         return item.get();
     }
 
     @Override
-    public Booking checkIfStatusAlreadyApproved(Integer userId, Integer bookingId, Boolean approved) {
+    public Booking checkBookingExist(Integer bookingId) {
         Optional<Booking> booking = bookingRepository.findById(bookingId);
-        if (booking.isPresent()) {
-            boolean isOwnerOfItem = booking.get().getItem().getOwner().getId().equals(userId);
-            if (!isOwnerOfItem) {
-                log.error("Validation failed. The wrong owner with id {} of ru.practicum.item {}",
-                        userId, booking.get().getItem().getName());
-                throw new WrongOwnerOfItemException("The wrong owner of ru.practicum.item");
-            }
-        }
         if (booking.isEmpty()) {
-            log.error("Validation failed. The ru.practicum.booking with the id doesn't exist");
+            log.error("Validation failed. The ru.practicum.booking with the id {} doesn't exist", bookingId);
             throw new BookingNotFoundException("The ru.practicum.booking with the id doesn't exist");
         }
-        if (approved.equals(true)) {
-            boolean statusAlreadyApproved = booking.get().getStatus().equals(BookingStatus.APPROVED);
-            if (statusAlreadyApproved) {
-                log.error("Validation failed. The status of ru.practicum.booking id {} is already approved", bookingId);
-                throw new ValidationException("The status of ru.practicum.booking is already approved");
-            }
-        }
         return booking.get();
     }
+
+    // the conditional update changed nothing, one lookup tells the caller why
+    @Override
+    public RuntimeException statusChangeFailure(Integer userId, Integer bookingId, BookingRole role) {
+        Booking booking = checkBookingExist(bookingId);
+        if (role == BookingRole.OWNER && !booking.getItem().getOwner().getId().equals(userId)) {
+            log.error("Validation failed. The user id {} isn't the owner of the ru.practicum.item of ru.practicum.booking id {}",
+                    userId, bookingId);
+            return new BookingAccessDeniedException("Only the owner of the ru.practicum.item can approve or reject the ru.practicum.booking");
+        }
+        if (role == BookingRole.BOOKER && !booking.getBooker().getId().equals(userId)) {
+            log.error("Validation failed. The user id {} isn't the booker of ru.practicum.booking id {}", userId, bookingId);
+            return new BookingAccessDeniedException("Only the booker can cancel the ru.practicum.booking");
+        }
+        String current = booking.getStatus().name().toLowerCase();
+        log.error("Validation failed. The status of ru.practicum.booking id {} is already {}", bookingId, current);
+        return new BookingStatusConflictException("The status of ru.practicum.booking is already " + current);
+    }
+
+    @Override
+    public BookingCursor checkCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return BookingCursor.FIRST;
+        }
+        try {
+            return BookingCursor.decode(cursor);
+        } catch (RuntimeException e) {
+            log.error("Validation failed. The cursor {} is malformed", cursor);
+            throw new ValidationException("The cursor is malformed");
+        }
+    }
 }
@@ -0,0 +1,147 @@
+package ru.practicum.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.booking.model.Booking;
+import ru.practicum.item.model.Item;
+import ru.practicum.request.model.ItemRequest;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import static ru.practicum.cache.CacheNames.*;
+
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+    private final CacheManager cacheManager;
+
+    public void userChanged(Integer userId) {
+        evict(FIND_USER, userId);
+        clear(FIND_ITEM);
+        clear(FIND_ALL_ITEMS_BY_USER);
+        clear(FIND_BOOKING);
+        clear(FIND_ALL_BOOKINGS_CUSTOMER);
+        clear(FIND_ALL_BOOKINGS_OWNER);
+    }
+
+    public void userDeleted() {
+        cacheManager.getCacheNames().forEach(this::clear);
+    }
+
+    public void itemChanged(Item item) {
+        Integer ownerId = item.getOwner().getId();
+        evictIf(FIND_ITEM, keyAt(1, item.getId()));
+        evictIf(FIND_ALL_ITEMS_BY_USER, keyAt(0, ownerId));
+        clear(SEARCH_ITEM_FOR_RENT);
+        clear(FIND_BOOKING);
+        clear(FIND_ALL_BOOKINGS_CUSTOMER);
+        evictIf(FIND_ALL_BOOKINGS_OWNER, keyAt(0, ownerId));
+        if (item.getRequest() != null) {
+            evict(FIND_ALL_ITEM_REQUESTS_BY_USER, item.getRequest().getRequestor().getId());
+            clear(FIND_ALL_ITEM_REQUESTS);
+            evictIf(FIND_ITEM_REQUEST, keyAt(1, item.getRequest().getId()));
+        }
+    }
+
+    // new items are in no cached item or booking yet, only the owner's list, search and the answered requests
+    public void itemsImported(Integer ownerId, Collection<ItemRequest> requests) {
+        evictIf(FIND_ALL_ITEMS_BY_USER, keyAt(0, ownerId));
+        clear(SEARCH_ITEM_FOR_RENT);
+        if (requests.isEmpty()) {
+            return;
+        }
+        Set<Object> requestIds = new HashSet<>();
+        for (ItemRequest request : requests) {
+            evict(FIND_ALL_ITEM_REQUESTS_BY_USER, request.getRequestor().getId());
+            requestIds.add(request.getId());
+        }
+        clear(FIND_ALL_ITEM_REQUESTS);
+        evictIf(FIND_ITEM_REQUEST, keyAt(1, requestIds));
+    }
+
+    public void commentAdded(Item item) {
+        evictIf(FIND_ITEM, keyAt(1, item.getId()));
+        evictIf(FIND_ALL_ITEMS_BY_USER, keyAt(0, item.getOwner().getId()));
+    }
+
+    public void bookingChanged(Booking booking) {
+        Item item = booking.getItem();
+        evictIf(FIND_BOOKING, keyAt(1, booking.getId()));
+        evictIf(FIND_ALL_BOOKINGS_CUSTOMER, keyAt(0, booking.getBooker().getId()));
+        evictIf(FIND_ALL_BOOKINGS_OWNER, keyAt(0, item.getOwner().getId()));
+        evictIf(FIND_ITEM, keyAt(1, item.getId()));
+        evictIf(FIND_ALL_ITEMS_BY_USER, keyAt(0, item.getOwner().getId()));
+    }
+
+    // one pass over the caches for the whole batch instead of one per booking
+    public void bookingsCreated(Collection<Booking> bookings) {
+        Set<Object> bookerIds = new HashSet<>();
+        Set<Object> ownerIds = new HashSet<>();
+        Set<Object> itemIds = new HashSet<>();
+        for (Booking booking : bookings) {
+            bookerIds.add(booking.getBooker().getId());
+            ownerIds.add(booking.getItem().getOwner().getId());
+            itemIds.add(booking.getItem().getId());
+        }
+        evictIf(FIND_ALL_BOOKINGS_CUSTOMER, keyAt(0, bookerIds));
+        evictIf(FIND_ALL_BOOKINGS_OWNER, keyAt(0, ownerIds));
+        evictIf(FIND_ITEM, keyAt(1, itemIds));
+        evictIf(FIND_ALL_ITEMS_BY_USER, keyAt(0, ownerIds));
+    }
+
+    public void requestCreated(Integer requestorId) {
+        evict(FIND_ALL_ITEM_REQUESTS_BY_USER, requestorId);
+        clear(FIND_ALL_ITEM_REQUESTS);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictIf(String cacheName, Predicate<Object> key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache) {
+            ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().keySet().removeIf(key);
+        } else if (nativeCache instanceof ConcurrentMap) {
+            ((Map<Object, Object>) nativeCache).keySet().removeIf(key);
+        } else {
+            cache.clear();
+        }
+    }
+
+    private static Predicate<Object> keyAt(int index, Object value) {
+        return key -> key instanceof List
+                && ((List<?>) key).size() > index
+                && Objects.equals(((List<?>) key).get(index), value);
+    }
+
+    private static Predicate<Object> keyAt(int index, Set<Object> values) {
+        return key -> key instanceof List
+                && ((List<?>) key).size() > index
+                && values.contains(((List<?>) key).get(index));
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.cache;
+
+public final class CacheNames {
+    public static final String FIND_USER = "findUser";
+    public static final String FIND_ITEM = "findItem";
+    public static final String FIND_ALL_ITEMS_BY_USER = "findAllItemsByUser";
+    public static final String SEARCH_ITEM_FOR_RENT = "searchItemForRent";
+    public static final String FIND_BOOKING = "findBooking";
+    public static final String FIND_ALL_BOOKINGS_CUSTOMER = "findAllBookingsCustomer";
+    public static final String FIND_ALL_BOOKINGS_OWNER = "findAllBookingsOwner";
+    public static final String FIND_ALL_ITEM_REQUESTS_BY_USER = "findAllItemRequestsByUser";
+    public static final String FIND_ALL_ITEM_REQUESTS = "findAllItemRequests";
+    public static final String FIND_ITEM_REQUEST = "findItemRequest";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.cache")
+public class CacheSpecProperties {
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=5m";
+    private Map<String, String> specs = new HashMap<>();
+}
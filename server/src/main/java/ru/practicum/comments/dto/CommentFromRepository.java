@@ -0,0 +1,17 @@
+package ru.practicum.comments.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentFromRepository {
+    private Integer itemId;
+    private Integer id;
+    private String text;
+    private String authorName;
+    private LocalDateTime created;
+}
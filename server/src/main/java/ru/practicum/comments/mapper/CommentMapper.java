@@ -4,6 +4,8 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import ru.practicum.comments.dto.CommentDto;
+import ru.practicum.comments.dto.CommentFromRepository;
+import ru.practicum.comments.dto.CommentInfo;
 import ru.practicum.comments.model.Comment;
 import ru.practicum.user.model.User;
 
@@ -15,4 +17,6 @@ public interface CommentMapper {
     CommentDto toDto(Comment comment, User user);
 
     Comment toModel(CommentDto commentDto);
+
+    CommentInfo toDto(CommentFromRepository commentFromRepository);
 }
@@ -2,10 +2,19 @@ package ru.practicum.comments.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.comments.dto.CommentFromRepository;
 import ru.practicum.comments.dto.CommentInfo;
 import ru.practicum.comments.model.Comment;
+import ru.practicum.export.Exporter;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface CommentsRepository extends JpaRepository<Comment, Integer> {
 
@@ -14,4 +23,19 @@ public interface CommentsRepository extends JpaRepository<Comment, Integer> {
             "from Comment c " +
             "where c.item.id = ?1")
     List<CommentInfo> findAllByItemId(Integer itemId);
+
+    @Query("select new ru.practicum.comments.dto.CommentFromRepository" +
+            "(c.item.id, c.id, c.text, c.author.name, c.created) " +
+            "from Comment c " +
+            "where c.item.id in ?1")
+    List<CommentFromRepository> findAllByItemIdIn(Collection<Integer> itemIds);
+
+    @Query("select new ru.practicum.comments.dto.CommentFromRepository" +
+            "(c.item.id, c.id, c.text, c.author.name, c.created) " +
+            "from Comment c " +
+            "where c.item.owner.id = ?1 " +
+            "order by c.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = Exporter.FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<CommentFromRepository> streamAllByItemOwner(Integer ownerId);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ru.practicum.exceptions;
+
+public class BookingAccessDeniedException extends RuntimeException {
+    public BookingAccessDeniedException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.export;
+
+import lombok.Value;
+
+import java.util.function.Function;
+
+@Value(staticConstructor = "of")
+public class ExportColumn<T> {
+    String name;
+    Function<T, ?> value;
+}
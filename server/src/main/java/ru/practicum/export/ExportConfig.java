@@ -0,0 +1,34 @@
+package ru.practicum.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// exports are the only async requests, they get their own bounded pool instead of the application task executor,
+// whose queue has no bound and whose threads in the virtual mode have no limit
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+@RequiredArgsConstructor
+public class ExportConfig implements WebMvcConfigurer {
+    private final ExportProperties properties;
+
+    // an export past the queue is rejected with a 503 rather than waiting unseen behind the running ones
+    @Bean
+    public ThreadPoolTaskExecutor exportTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("export-");
+        executor.setCorePoolSize(properties.getMaxRunning());
+        executor.setMaxPoolSize(properties.getMaxRunning());
+        executor.setQueueCapacity(properties.getMaxQueued());
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportTaskExecutor());
+    }
+}
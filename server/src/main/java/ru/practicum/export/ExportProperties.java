@@ -0,0 +1,12 @@
+package ru.practicum.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.export")
+public class ExportProperties {
+    // every running export holds a pooled connection until it ends, so this stays well below the Hikari pool
+    private int maxRunning = 8;
+    private int maxQueued = 16;
+}
@@ -0,0 +1,104 @@
+package ru.practicum.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class Exporter {
+    // rows the JDBC driver pulls from the server-side cursor per round trip
+    public static final String FETCH_SIZE = "1000";
+
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate transactions;
+
+    public Exporter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        // flushing after every row would send each one in its own packet
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactions = new TransactionTemplate(transactionManager);
+        // PostgreSQL only opens a cursor outside of autocommit, and nothing is flushed in a read-only one
+        this.transactions.setReadOnly(true);
+    }
+
+    // the rows are read and written one at a time while the response goes out, none of them is kept
+    public <T> StreamingResponseBody export(ExportFormat format, List<ExportColumn<T>> columns,
+                                            Supplier<Stream<T>> rows) {
+        return output -> transactions.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get()) {
+                long written = format == ExportFormat.CSV
+                        ? writeCsv(stream.iterator(), columns, output)
+                        : writeNdjson(stream.iterator(), output);
+                log.info("Exported {} rows as {}", written, format);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> long writeNdjson(Iterator<T> rows, OutputStream output) throws IOException {
+        long written = 0;
+        // the rows are separated by the newline alone, not the space Jackson puts between root values by default
+        JsonGenerator generator = rowWriter.createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        while (rows.hasNext()) {
+            rowWriter.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+            written++;
+        }
+        generator.flush();
+        return written;
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, List<ExportColumn<T>> columns, OutputStream output)
+            throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        for (int i = 0; i < columns.size(); i++) {
+            writer.write(i == 0 ? "" : ",");
+            writer.write(columns.get(i).getName());
+        }
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                writer.write(i == 0 ? "" : ",");
+                writer.write(csvValue(columns.get(i).getValue().apply(row)));
+            }
+            writer.write("\r\n");
+            written++;
+        }
+        writer.flush();
+        return written;
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -2,12 +2,19 @@ package ru.practicum.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.comments.dto.CommentDto;
+import ru.practicum.exceptions.ValidationException;
+import ru.practicum.export.ExportFormat;
 import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.ItemImportReport;
 import ru.practicum.item.dto.ItemInfo;
 import ru.practicum.item.service.ItemService;
 
+import java.io.InputStream;
 import java.util.List;
 
 
@@ -23,6 +30,31 @@ public class ItemController {
         return itemService.createItem(userId, itemDto);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ItemImportReport importItems(@RequestHeader("X-Sharer-User-Id") Integer userId, InputStream body) {
+        return itemService.importItems(userId, body);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = formatOf(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(itemService.exportItems(userId, exportFormat));
+    }
+
+    @GetMapping("/comments/export")
+    public ResponseEntity<StreamingResponseBody> exportComments(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = formatOf(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(itemService.exportComments(userId, exportFormat));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") Integer userId,
                               @PathVariable Integer itemId, @RequestBody ItemDto itemDto) {
@@ -59,4 +91,8 @@ public class ItemController {
                                  @RequestBody CommentDto commentDto) {
         return itemService.addComment(userId, itemId, commentDto);
     }
+
+    private static ExportFormat formatOf(String format) {
+        return ExportFormat.from(format).orElseThrow(() -> new ValidationException("Unknown format: " + format));
+    }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// index is the position of the entry in the imported body
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemImportError {
+    private Integer index;
+    private String error;
+}
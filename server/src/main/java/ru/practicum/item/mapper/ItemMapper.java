@@ -16,6 +16,7 @@ import java.util.List;
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface ItemMapper {
 
+    @Mapping(target = "requestId", source = "request.id")
     ItemDto toDto(Item item);
 
     Item toModel(ItemDto itemDto);
@@ -26,5 +27,6 @@ public interface ItemMapper {
 
     @Mapping(target = "id", source = "itemDto.id")
     @Mapping(target = "description", source = "itemDto.description")
+    @Mapping(target = "request", source = "itemRequest")
     Item toModel(ItemDto itemDto, ItemRequest itemRequest);
 }
@@ -3,24 +3,32 @@ package ru.practicum.item.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.item.dto.ItemDto;
 import ru.practicum.item.model.Item;
+import ru.practicum.export.Exporter;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
     @Query("select i " +
             "from Item i " +
-            "where (i.available = true) " +
-            "and upper(i.description) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1)) " +
-            "or upper(i.name) like upper(concat(?1, '%')) " +
-            "or upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.name) like upper(concat('%', ?1))")
+            "where i.available = true " +
+            "and (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%')))")
     List<Item> searchItemByInput(String text, Pageable pageable);
 
     @Query("select i " +
             "from Item i " +
+            "join fetch i.owner " +
+            "left join fetch i.request r " +
+            "left join fetch r.requestor " +
             "where i.owner.id = ?1 " +
             "order by i.id")
     List<Item> findAllByOwner(Integer userId, Pageable pageable);
@@ -30,4 +38,34 @@ public interface ItemRepository extends JpaRepository<Item, Integer> {
             "from Item i " +
             "where i.request.id = ?1")
     List<ItemDto> findItemsByRequest(Integer requestId);
+
+    @Query("select new ru.practicum.item.dto.ItemDto" +
+            "(i.id, i.name, i.description, i.available, i.request.id) " +
+            "from Item i " +
+            "where i.request.id in ?1")
+    List<ItemDto> findItemsByRequestIn(Collection<Integer> requestIds);
+
+    @Query("select new ru.practicum.item.dto.ItemDto" +
+            "(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i " +
+            "left join i.request r " +
+            "where i.owner.id = ?1 " +
+            "order by i.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = Exporter.FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<ItemDto> streamAllByOwner(Integer userId);
+
+    @Query("select i " +
+            "from Item i " +
+            "join fetch i.owner " +
+            "where i.id in ?1")
+    List<Item> findAllWithOwnerByIdIn(Collection<Integer> itemIds);
+
+    @Query("select i " +
+            "from Item i " +
+            "join fetch i.owner " +
+            "left join fetch i.request " +
+            "where i.id > ?1 " +
+            "order by i.id")
+    List<Item> findAllAfter(Integer afterId, Pageable pageable);
 }
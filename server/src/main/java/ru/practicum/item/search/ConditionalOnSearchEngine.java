@@ -0,0 +1,15 @@
+package ru.practicum.item.search;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Conditional(OnSearchEngineCondition.class)
+public @interface ConditionalOnSearchEngine {
+    String value();
+}
@@ -0,0 +1,27 @@
+package ru.practicum.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.mapper.ItemMapper;
+import ru.practicum.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnSearchEngine("database")
+public class DatabaseItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        return itemRepository.searchItemByInput(text, pageable)
+                .stream()
+                .map(itemMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearch {
+    List<ItemDto> search(String text, Pageable pageable);
+
+    default void index(Item item) {
+    }
+
+    default void removeOwner(Integer ownerId) {
+    }
+}
@@ -0,0 +1,218 @@
+package ru.practicum.item.search;
+
+import ru.practicum.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class NgramIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<Integer, IndexedItem> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Integer ownerId, ItemDto item) {
+        IndexedItem indexed = new IndexedItem(item, ownerId);
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = items.put(item.getId(), indexed);
+            if (previous != null) {
+                unindex(previous);
+            }
+            for (String gram : indexed.grams()) {
+                postings.computeIfAbsent(gram, key -> new Posting()).add(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer itemId) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = items.remove(itemId);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeOwner(Integer ownerId) {
+        lock.writeLock().lock();
+        try {
+            items.values().removeIf(indexed -> {
+                if (!indexed.ownerId.equals(ownerId)) {
+                    return false;
+                }
+                unindex(indexed);
+                return true;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text, long offset, int limit) {
+        String query = normalize(text);
+        List<ItemDto> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long skipped = 0;
+            for (int id : candidates(query)) {
+                IndexedItem indexed = items.get(id);
+                if (!indexed.matches(query)) {
+                    continue;
+                }
+                if (skipped++ < offset) {
+                    continue;
+                }
+                result.add(indexed.item);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            // shorter than a gram: nothing to look up, so every item is a candidate
+            return items.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        List<Posting> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+                return new int[0];
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(posting -> posting.size));
+        Posting shortest = lists.get(0);
+        int[] result = new int[shortest.size];
+        int count = 0;
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                inAll = lists.get(j).contains(id);
+            }
+            if (inAll) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void unindex(IndexedItem indexed) {
+        for (String gram : indexed.grams()) {
+            Posting posting = postings.get(gram);
+            if (posting != null && posting.remove(indexed.item.getId()) && posting.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class IndexedItem {
+        private final ItemDto item;
+        private final Integer ownerId;
+        private final String name;
+        private final String description;
+
+        private IndexedItem(ItemDto item, Integer ownerId) {
+            this.item = item;
+            this.ownerId = ownerId;
+            this.name = normalize(item.getName());
+            this.description = normalize(item.getDescription());
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = NgramIndex.grams(name);
+            grams.addAll(NgramIndex.grams(description));
+            return grams;
+        }
+
+        private boolean matches(String query) {
+            return Boolean.TRUE.equals(item.getAvailable()) && (name.contains(query) || description.contains(query));
+        }
+    }
+
+    private static final class Posting {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.mapper.ItemMapper;
+import ru.practicum.item.model.Item;
+import ru.practicum.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+@Component
+@Slf4j
+@ConditionalOnSearchEngine("ngram")
+public class NgramItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+    private final int batchSize;
+    private final NgramIndex index = new NgramIndex();
+
+    public NgramItemSearch(ItemRepository itemRepository, ItemMapper itemMapper,
+                           @Value("${shareit.search.ngram.batch-size:10000}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.itemMapper = itemMapper;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        index.clear();
+        Integer afterId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findAllAfter(afterId, PageRequest.of(0, batchSize));
+            for (Item item : batch) {
+                index(item);
+                afterId = item.getId();
+            }
+        } while (batch.size() == batchSize);
+        log.info("The item search index is built for {} items", index.size());
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        return index.search(text, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public void index(Item item) {
+        index.put(item.getOwner().getId(), itemMapper.toDto(item));
+    }
+
+    @Override
+    public void removeOwner(Integer ownerId) {
+        index.removeOwner(ownerId);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+// shareit.search.engine picks the engine; left unset, PostgreSQL gets its native search and any other database
+// the portable one
+class OnSearchEngineCondition extends SpringBootCondition {
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnSearchEngine.class.getName());
+        String wanted = (String) attributes.get("value");
+        String engine = engineOf(context.getEnvironment());
+        String message = "the search engine is " + engine;
+        return engine.equals(wanted) ? ConditionOutcome.match(message) : ConditionOutcome.noMatch(message);
+    }
+
+    static String engineOf(Environment environment) {
+        String engine = environment.getProperty("shareit.search.engine");
+        if (engine != null && !engine.isBlank()) {
+            return engine;
+        }
+        String url = environment.getProperty("spring.datasource.url", "");
+        return url.startsWith("jdbc:postgresql:") ? "postgres" : "database";
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.mapper.ItemMapper;
+import ru.practicum.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnSearchEngine("postgres")
+public class PostgresItemSearch implements ItemSearch {
+    private static final String SEARCH_QUERY = "select i.* " +
+            "from items i " +
+            "where i.available " +
+            "and (i.search_vector @@ plainto_tsquery('simple', :text) " +
+            "or i.name ilike :pattern escape '\\' " +
+            "or i.description ilike :pattern escape '\\') " +
+            "order by ts_rank(i.search_vector, plainto_tsquery('simple', :text)) desc, " +
+            "greatest(similarity(i.name, :text), similarity(i.description, :text)) desc, " +
+            "i.id " +
+            "limit :limit offset :offset";
+
+    private final ItemMapper itemMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ItemDto> search(String text, Pageable pageable) {
+        List<Item> items = entityManager.createNativeQuery(SEARCH_QUERY, Item.class)
+                .setParameter("text", text)
+                .setParameter("pattern", "%" + escapeLike(text) + "%")
+                .setParameter("limit", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+        return items.stream()
+                .map(itemMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,272 @@
+package ru.practicum.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.cache.CacheInvalidator;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.ItemImportError;
+import ru.practicum.item.dto.ItemImportReport;
+import ru.practicum.item.mapper.ItemMapper;
+import ru.practicum.item.model.Item;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.search.ItemSearch;
+import ru.practicum.request.model.ItemRequest;
+import ru.practicum.request.repository.RequestRepository;
+import ru.practicum.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// reads the body one entry at a time and saves it in chunks, so only a chunk of items is ever held in memory
+@Component
+@Slf4j
+public class ItemImporter {
+    // a broken file must not grow the report without bound, the rest of the errors are only counted
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int PROGRESS_EVERY = 50_000;
+    // the sizes of the name and description columns
+    private static final int MAX_NAME_LENGTH = 200;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final ObjectReader reader;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final ItemMapper itemMapper;
+    private final ItemSearch itemSearch;
+    private final CacheInvalidator cacheInvalidator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactions;
+    private final int chunkSize;
+
+    public ItemImporter(ObjectMapper objectMapper, ItemRepository itemRepository,
+                        RequestRepository requestRepository, ItemMapper itemMapper, ItemSearch itemSearch,
+                        CacheInvalidator cacheInvalidator, EntityManager entityManager,
+                        TransactionTemplate transactions, @Value("${shareit.items.import.chunk-size:500}") int chunkSize) {
+        this.reader = objectMapper.readerFor(ItemDto.class);
+        this.itemRepository = itemRepository;
+        this.requestRepository = requestRepository;
+        this.itemMapper = itemMapper;
+        this.itemSearch = itemSearch;
+        this.cacheInvalidator = cacheInvalidator;
+        this.entityManager = entityManager;
+        this.transactions = transactions;
+        this.chunkSize = chunkSize;
+    }
+
+    // the body is either a JSON array or NDJSON, told apart by its first character
+    public ItemImportReport importItems(User owner, InputStream body) {
+        ImportRun run = new ImportRun(owner);
+        try {
+            PushbackInputStream input = new PushbackInputStream(body);
+            if (startsWithArray(input)) {
+                readArray(run, input);
+            } else {
+                readLines(run, input);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ItemImportReport report = run.report;
+        log.info("Imported {} items of the user id {}, {} failed", report.getImported(), owner.getId(),
+                report.getFailed());
+        return report;
+    }
+
+    private void readArray(ImportRun run, InputStream input) throws IOException {
+        try (MappingIterator<ItemDto> entries = reader.readValues(input)) {
+            while (entries.hasNextValue()) {
+                run.add(entries.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            // the entries before the broken one are kept, inside an array nothing after it can be read reliably
+            run.reject("The entry is not a valid item, the import stopped here: " + e.getOriginalMessage());
+        }
+        run.flush();
+    }
+
+    // every line is an entry of its own, a broken one is reported and the next line is read as usual
+    private void readLines(ImportRun run, InputStream input) throws IOException {
+        BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            ItemDto itemDto;
+            try {
+                itemDto = reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject("The entry is not a valid item: " + e.getOriginalMessage());
+                continue;
+            }
+            if (itemDto == null) {
+                run.reject("The entry is not a valid item: it is null");
+                continue;
+            }
+            run.add(itemDto);
+        }
+        run.flush();
+    }
+
+    // the whitespace before the first character means nothing in either format and is dropped
+    private static boolean startsWithArray(PushbackInputStream input) throws IOException {
+        int first = input.read();
+        while (first != -1 && Character.isWhitespace(first)) {
+            first = input.read();
+        }
+        if (first == -1) {
+            return false;
+        }
+        input.unread(first);
+        return first == '[';
+    }
+
+    private void save(User owner, List<ItemDto> chunk, List<Integer> chunkIndexes, ItemImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Integer> requestIds = chunk.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, ItemRequest> requests = requestIds.isEmpty() ? Map.of() : requestRepository
+                .findAllWithRequestorByIdIn(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        List<Item> items = new ArrayList<>(chunk.size());
+        List<Integer> indexes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ItemDto itemDto = chunk.get(i);
+            String error = check(itemDto, requests);
+            if (error != null) {
+                fail(report, chunkIndexes.get(i), error);
+                continue;
+            }
+            Item item = itemDto.getRequestId() != null
+                    ? itemMapper.toModel(itemDto, requests.get(itemDto.getRequestId()))
+                    : itemMapper.toModel(itemDto);
+            item.setId(null);
+            item.setOwner(owner);
+            items.add(item);
+            indexes.add(chunkIndexes.get(i));
+        }
+        // nothing in the chunk passed the checks, there is nothing to write and no cache to touch
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            transactions.executeWithoutResult(status -> {
+                itemRepository.saveAll(items);
+                entityManager.flush();
+            });
+        } catch (DataAccessException | PersistenceException e) {
+            // the chunk is rolled back as a whole, its entries are reported and the import goes on with the next one
+            log.warn("Saving the items {}-{} of the user id {} failed", indexes.get(0),
+                    indexes.get(indexes.size() - 1), owner.getId(), e);
+            indexes.forEach(index -> fail(report, index, "The entry could not be saved, its chunk was rolled back"));
+            entityManager.clear();
+            return;
+        }
+        items.forEach(itemSearch::index);
+        cacheInvalidator.itemsImported(owner.getId(), requests.values());
+        report.setImported(report.getImported() + items.size());
+        // open-in-view keeps one persistence context for the whole request, it would hold every saved item,
+        // so each chunk is flushed in its own transaction and then dropped from it
+        entityManager.clear();
+    }
+
+    private static String check(ItemDto itemDto, Map<Integer, ItemRequest> requests) {
+        if (itemDto.getName() == null || itemDto.getName().isEmpty()) {
+            return "The field of name is empty";
+        }
+        if (itemDto.getName().length() > MAX_NAME_LENGTH) {
+            return "The field of name is longer than " + MAX_NAME_LENGTH + " characters";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isEmpty()) {
+            return "The field of description is empty";
+        }
+        if (itemDto.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            return "The field of description is longer than " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "The field of availability is empty";
+        }
+        if (itemDto.getRequestId() != null && !requests.containsKey(itemDto.getRequestId())) {
+            return "The ru.practicum.item ru.practicum.request doesn't exist";
+        }
+        return null;
+    }
+
+    private static void fail(ItemImportReport report, int index, String error) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(ItemImportError.builder().index(index).error(error).build());
+        }
+    }
+
+    // the entries read so far: the chunk waiting to be saved with their indexes in the body, and the report
+    private class ImportRun {
+        private final User owner;
+        private final ItemImportReport report = ItemImportReport.builder()
+                .imported(0)
+                .failed(0)
+                .errors(new ArrayList<>())
+                .build();
+        private final List<ItemDto> chunk = new ArrayList<>(chunkSize);
+        private final List<Integer> indexes = new ArrayList<>(chunkSize);
+        private int read;
+
+        ImportRun(User owner) {
+            this.owner = owner;
+        }
+
+        void add(ItemDto itemDto) {
+            chunk.add(itemDto);
+            indexes.add(read);
+            next();
+            if (chunk.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(String error) {
+            fail(report, read, error);
+            next();
+        }
+
+        void flush() {
+            save(owner, chunk, indexes, report);
+            chunk.clear();
+            indexes.clear();
+        }
+
+        private void next() {
+            read++;
+            if (read % PROGRESS_EVERY == 0) {
+                log.info("Importing items of the user id {}: {} read, {} imported, {} failed",
+                        owner.getId(), read, report.getImported(), report.getFailed());
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.booking.dto.BookingFromRepository;
+import ru.practicum.booking.dto.LastBooking;
+import ru.practicum.booking.dto.NextBooking;
+import ru.practicum.booking.mapper.BookingMapper;
+import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.comments.dto.CommentFromRepository;
+import ru.practicum.comments.dto.CommentInfo;
+import ru.practicum.comments.mapper.CommentMapper;
+import ru.practicum.comments.repository.CommentsRepository;
+import ru.practicum.item.dto.ItemInfo;
+import ru.practicum.item.mapper.ItemMapper;
+import ru.practicum.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ItemInfoAssembler {
+    private final CommentsRepository commentsRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentMapper commentMapper;
+    private final BookingMapper bookingMapper;
+    private final ItemMapper itemMapper;
+
+    public List<ItemInfo> assemble(List<Item> items, boolean withBookings) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Integer, List<CommentInfo>> comments = commentsRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(CommentFromRepository::getItemId,
+                        Collectors.mapping(commentMapper::toDto, Collectors.toList())));
+        Map<Integer, LastBooking> lastBookings = withBookings
+                ? bookingRepository.findLastBookings(itemIds)
+                .stream()
+                .collect(Collectors.toMap(BookingFromRepository::getItemId, bookingMapper::toLastBooking,
+                        (first, second) -> first))
+                : Map.of();
+        Map<Integer, NextBooking> nextBookings = withBookings
+                ? bookingRepository.findNextBookings(itemIds)
+                .stream()
+                .collect(Collectors.toMap(BookingFromRepository::getItemId, bookingMapper::toNextBooking,
+                        (first, second) -> first))
+                : Map.of();
+        return items.stream()
+                .map(item -> itemMapper.toDto(item,
+                        comments.getOrDefault(item.getId(), new ArrayList<>()),
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId())))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,15 +1,21 @@
 package ru.practicum.item.service;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.comments.dto.CommentDto;
+import ru.practicum.export.ExportFormat;
 import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.ItemImportReport;
 import ru.practicum.item.dto.ItemInfo;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface ItemService {
     ItemDto createItem(Integer userId, ItemDto itemDto);
 
+    ItemImportReport importItems(Integer userId, InputStream body);
+
     ItemDto updateItem(Integer userId, Integer itemId, ItemDto itemDto);
 
     ItemInfo findItem(Integer userId, Integer itemId);
@@ -19,4 +25,8 @@ public interface ItemService {
     List<ItemDto> searchItemForRent(String text, Pageable pageable);
 
     CommentDto addComment(Integer userId, Integer itemId, CommentDto commentDto);
+
+    StreamingResponseBody exportItems(Integer userId, ExportFormat format);
+
+    StreamingResponseBody exportComments(Integer userId, ExportFormat format);
 }
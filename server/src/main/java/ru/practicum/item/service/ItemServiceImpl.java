@@ -1,42 +1,60 @@
 package ru.practicum.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import ru.practicum.booking.repository.BookingRepository;
-import ru.practicum.booking.dto.LastBooking;
-import ru.practicum.booking.dto.NextBooking;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.cache.CacheInvalidator;
+import ru.practicum.cache.CacheNames;
 import ru.practicum.comments.dto.CommentDto;
-import ru.practicum.comments.dto.CommentInfo;
+import ru.practicum.comments.dto.CommentFromRepository;
 import ru.practicum.comments.mapper.CommentMapper;
 import ru.practicum.comments.model.Comment;
 import ru.practicum.comments.repository.CommentsRepository;
-import ru.practicum.item.mapper.ItemMapper;
-import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.comments.validation.CommentValidation;
+import ru.practicum.export.ExportColumn;
+import ru.practicum.export.ExportFormat;
+import ru.practicum.export.Exporter;
 import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.ItemImportReport;
 import ru.practicum.item.dto.ItemInfo;
+import ru.practicum.item.mapper.ItemMapper;
 import ru.practicum.item.model.Item;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.search.ItemSearch;
+import ru.practicum.item.validation.ItemValidation;
 import ru.practicum.request.model.ItemRequest;
 import ru.practicum.request.repository.RequestRepository;
-import ru.practicum.user.repository.UserRepository;
 import ru.practicum.user.model.User;
-import ru.practicum.comments.validation.CommentValidation;
-import ru.practicum.item.validation.ItemValidation;
+import ru.practicum.user.repository.UserRepository;
 import ru.practicum.user.validation.UserValidation;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service("itemServiceImpl")
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class ItemServiceImpl implements ItemService {
+    private static final List<ExportColumn<ItemDto>> ITEM_COLUMNS = List.of(
+            ExportColumn.of("id", ItemDto::getId),
+            ExportColumn.of("name", ItemDto::getName),
+            ExportColumn.of("description", ItemDto::getDescription),
+            ExportColumn.of("available", ItemDto::getAvailable),
+            ExportColumn.of("requestId", ItemDto::getRequestId));
+    private static final List<ExportColumn<CommentFromRepository>> COMMENT_COLUMNS = List.of(
+            ExportColumn.of("id", CommentFromRepository::getId),
+            ExportColumn.of("itemId", CommentFromRepository::getItemId),
+            ExportColumn.of("text", CommentFromRepository::getText),
+            ExportColumn.of("authorName", CommentFromRepository::getAuthorName),
+            ExportColumn.of("created", CommentFromRepository::getCreated));
+
     private final ItemRepository itemRepository;
     private final CommentsRepository commentsRepository;
-    private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final RequestRepository requestRepository;
     private final ItemValidation itemValidation;
@@ -44,6 +62,11 @@ public class ItemServiceImpl implements ItemService {
     private final UserValidation userValidation;
     private final CommentMapper commentMapper;
     private final ItemMapper itemMapper;
+    private final ItemInfoAssembler itemInfoAssembler;
+    private final CacheInvalidator cacheInvalidator;
+    private final ItemSearch itemSearch;
+    private final ItemImporter itemImporter;
+    private final Exporter exporter;
 
     @Override
     public ItemDto createItem(Integer userId, ItemDto itemDto) {
@@ -53,16 +76,37 @@ public class ItemServiceImpl implements ItemService {
             Item item = itemMapper.toModel(itemDto, itemRequest);
             item.setOwner(user);
             Item itemFromRepository = itemRepository.save(item);
+            cacheInvalidator.itemChanged(itemFromRepository);
+            itemSearch.index(itemFromRepository);
             return itemMapper.toDto(itemFromRepository);
         }
         Item item = itemMapper.toModel(itemDto);
         item.setOwner(user);
         Item itemFromRepository = itemRepository.save(item);
+        cacheInvalidator.itemChanged(itemFromRepository);
+        itemSearch.index(itemFromRepository);
         return itemMapper.toDto(itemFromRepository);
     }
 
     @Override
-    @CachePut(cacheNames = {"updateItem"}, key = "{#userId, #itemId}")
+    public ItemImportReport importItems(Integer userId, InputStream body) {
+        User user = userValidation.checkUserExist(userId);
+        return itemImporter.importItems(user, body);
+    }
+
+    @Override
+    public StreamingResponseBody exportItems(Integer userId, ExportFormat format) {
+        userValidation.checkUserExist(userId);
+        return exporter.export(format, ITEM_COLUMNS, () -> itemRepository.streamAllByOwner(userId));
+    }
+
+    @Override
+    public StreamingResponseBody exportComments(Integer userId, ExportFormat format) {
+        userValidation.checkUserExist(userId);
+        return exporter.export(format, COMMENT_COLUMNS, () -> commentsRepository.streamAllByItemOwner(userId));
+    }
+
+    @Override
     public ItemDto updateItem(Integer userId, Integer itemId, ItemDto itemDto) {
         Item item = itemValidation.checkOwnerOfItem(userId, itemId);
         if (itemDto.getName() != null) {
@@ -75,47 +119,33 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemDto.getAvailable());
         }
         Item itemFromRepository = itemRepository.saveAndFlush(item);
+        cacheInvalidator.itemChanged(itemFromRepository);
+        itemSearch.index(itemFromRepository);
         return itemMapper.toDto(itemFromRepository);
     }
 
     @Override
-    @Cacheable(cacheNames = {"findItem"}, key = "{#userId, #itemId}")
+    @Cacheable(cacheNames = {CacheNames.FIND_ITEM}, key = "{#userId, #itemId}")
     public ItemInfo findItem(Integer userId, Integer itemId) {
         Item item = itemValidation.checkIfItemExist(itemId);
-        List<CommentInfo> comments = commentsRepository.findAllByItemId(itemId);
         boolean isOwner = item.getOwner().getId().equals(userId);
-        if (isOwner) {
-            LastBooking lastBooking = bookingRepository.findLastBooking(itemId);
-            NextBooking nextBooking = bookingRepository.findNextBooking(itemId);
-            return itemMapper.toDto(item, comments, lastBooking, nextBooking);
-        }
-        return itemMapper.toDto(item, comments, null, null);
+        return itemInfoAssembler.assemble(List.of(item), isOwner).get(0);
     }
 
     @Override
-    @Cacheable(cacheNames = {"findAllItemsByUser"}, key = "{#userId, #pageable.pageNumber, #pageable.pageSize}")
+    @Cacheable(cacheNames = {CacheNames.FIND_ALL_ITEMS_BY_USER}, key = "{#userId, #pageable.pageNumber, #pageable.pageSize}")
     public List<ItemInfo> findAllItemsByUser(Integer userId, Pageable pageable) {
-        List<ItemInfo> itemInfoList = new ArrayList<>();
         List<Item> items = itemRepository.findAllByOwner(userId, pageable);
-        for (Item item : items) {
-            List<CommentInfo> comments = commentsRepository.findAllByItemId(item.getId());
-            LastBooking lastBooking = bookingRepository.findLastBooking(item.getId());
-            NextBooking nextBooking = bookingRepository.findNextBooking(item.getId());
-            itemInfoList.add(itemMapper.toDto(item, comments, lastBooking, nextBooking));
-        }
-        return itemInfoList;
+        return itemInfoAssembler.assemble(items, true);
     }
 
     @Override
-    @Cacheable(cacheNames = {"searchItemForRent"}, key = "{#text, #pageable.pageNumber, #pageable.pageSize}")
+    @Cacheable(cacheNames = {CacheNames.SEARCH_ITEM_FOR_RENT}, key = "{#text, #pageable.pageNumber, #pageable.pageSize}")
     public List<ItemDto> searchItemForRent(String text, Pageable pageable) {
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
-        return itemRepository.searchItemByInput(text, pageable)
-                .stream()
-                .map(itemMapper::toDto)
-                .collect(Collectors.toList());
+        return itemSearch.search(text, pageable);
     }
 
     @Override
@@ -128,6 +158,7 @@ public class ItemServiceImpl implements ItemService {
         comment.setItem(item);
         comment.setCreated(LocalDateTime.now());
         Comment commentFromRepository = commentsRepository.save(comment);
+        cacheInvalidator.commentAdded(item);
         return commentMapper.toDto(commentFromRepository, user);
     }
 }
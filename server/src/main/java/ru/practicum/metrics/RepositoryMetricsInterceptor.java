@@ -0,0 +1,88 @@
+package ru.practicum.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+import ru.practicum.booking.dto.BookingQuery;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+// Spring Boot already times every repository call as spring.data.repository.invocations,
+// this adds what its listener can't see: the rows returned and the role and state of booking queries
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+    public static final String ROWS = "shareit.repository.rows";
+    public static final String BOOKING_QUERIES = "shareit.booking.queries";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final String repository;
+
+    public RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider, Class<?> repositoryInterface) {
+        this.registryProvider = registryProvider;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = registryProvider.getIfAvailable();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+        BookingQuery bookingQuery = bookingQueryOf(invocation.getArguments());
+        Timer.Sample sample = bookingQuery != null ? Timer.start(registry) : null;
+        Object result = invocation.proceed();
+        if (sample != null) {
+            sample.stop(Timer.builder(BOOKING_QUERIES)
+                    .description("Booking list queries by the role and state asked for")
+                    .tag("role", String.valueOf(bookingQuery.getRole()))
+                    .tag("state", String.valueOf(bookingQuery.getState()))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        long rows = rowsOf(result);
+        if (rows >= 0) {
+            DistributionSummary.builder(ROWS)
+                    .description("Rows returned by a repository method")
+                    .tag("repository", repository)
+                    .tag("method", invocation.getMethod().getName())
+                    .register(registry)
+                    .record(rows);
+        }
+        return result;
+    }
+
+    private static BookingQuery bookingQueryOf(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof BookingQuery) {
+                return (BookingQuery) argument;
+            }
+        }
+        return null;
+    }
+
+    // counts, flags and streams are not row sets, so they are left out
+    private static long rowsOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Iterable
+                || result instanceof BaseStream) {
+            return -1;
+        }
+        return 1;
+    }
+}
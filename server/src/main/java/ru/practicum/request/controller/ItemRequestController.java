@@ -2,12 +2,16 @@ package ru.practicum.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.request.dto.ItemRequestDto;
 import ru.practicum.request.dto.ItemRequestInfo;
+import ru.practicum.request.dto.RequestCursor;
 import ru.practicum.request.service.RequestService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -15,6 +19,8 @@ import java.util.List;
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 public class ItemRequestController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RequestService service;
 
     @PostMapping
@@ -29,12 +35,24 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestInfo> findAllItemRequests(
+    public ResponseEntity<List<ItemRequestInfo>> findAllItemRequests(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size) {
-
-        return service.findAllItemRequests(userId, PageRequest.of(from, size, Sort.by("created").descending()));
+            @RequestParam(value = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+
+        // the order is fixed by the query, so a cursor always starts from the first page
+        Pageable pageable = cursor != null ? PageRequest.of(0, size) : PageRequest.of(from, size);
+        List<ItemRequestInfo> requests = service.findAllItemRequests(userId, cursor, since, pageable);
+        if (requests.size() < size) {
+            return ResponseEntity.ok(requests);
+        }
+        ItemRequestInfo last = requests.get(requests.size() - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, RequestCursor.after(last).encode())
+                .body(requests);
     }
 
     @GetMapping("/{requestId}")
@@ -0,0 +1,30 @@
+package ru.practicum.request.dto;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+@Value
+public class RequestCursor {
+    public static final RequestCursor FIRST = new RequestCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Integer.MAX_VALUE);
+
+    LocalDateTime created;
+    Integer id;
+
+    public static RequestCursor after(ItemRequestInfo request) {
+        return new RequestCursor(request.getCreated(), request.getId());
+    }
+
+    public static RequestCursor decode(String token) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+        return new RequestCursor(LocalDateTime.parse(parts[0]), Integer.valueOf(parts[1]));
+    }
+
+    public String encode() {
+        String raw = created + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,7 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.request.model.ItemRequest;
 
-
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,12 +15,24 @@ public interface RequestRepository extends JpaRepository<ItemRequest, Integer> {
 
     @Query("select i " +
             "from ItemRequest i " +
+            "join fetch i.requestor " +
             "where i.requestor.id = ?1 " +
             "order by i.created desc")
     List<ItemRequest> findAllBuRequestor(Integer userId);
 
     @Query("select i " +
             "from ItemRequest i " +
-            "where i.requestor.id != ?1")
-    List<ItemRequest> findAllExceptRequestor(Integer userId, Pageable pageable);
+            "join fetch i.requestor " +
+            "where i.id in ?1")
+    List<ItemRequest> findAllWithRequestorByIdIn(Collection<Integer> requestIds);
+
+    @Query("select i " +
+            "from ItemRequest i " +
+            "join fetch i.requestor " +
+            "where i.requestor.id != ?1 " +
+            "and i.created > ?2 " +
+            "and (i.created < ?3 or (i.created = ?3 and i.id < ?4)) " +
+            "order by i.created desc, i.id desc")
+    List<ItemRequest> findAllExceptRequestor(Integer userId, LocalDateTime since, LocalDateTime afterCreated,
+                                             Integer afterId, Pageable pageable);
 }
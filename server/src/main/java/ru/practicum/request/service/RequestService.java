@@ -4,6 +4,7 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.request.dto.ItemRequestDto;
 import ru.practicum.request.dto.ItemRequestInfo;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestService {
@@ -12,7 +13,7 @@ public interface RequestService {
 
     List<ItemRequestInfo> findAllItemRequestsByUser(Integer userId);
 
-    List<ItemRequestInfo> findAllItemRequests(Integer userId, Pageable pageable);
+    List<ItemRequestInfo> findAllItemRequests(Integer userId, String cursor, LocalDateTime since, Pageable pageable);
 
     ItemRequestInfo findItemRequest(Integer userId, Integer requestId);
 }
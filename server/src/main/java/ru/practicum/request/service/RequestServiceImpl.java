@@ -1,70 +1,78 @@
 package ru.practicum.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.cache.CacheInvalidator;
+import ru.practicum.cache.CacheNames;
 import ru.practicum.exceptions.RequestNotFoundException;
+import ru.practicum.exceptions.ValidationException;
 import ru.practicum.item.dto.ItemDto;
 import ru.practicum.item.repository.ItemRepository;
 import ru.practicum.request.dto.ItemRequestDto;
 import ru.practicum.request.dto.ItemRequestInfo;
+import ru.practicum.request.dto.RequestCursor;
 import ru.practicum.request.mapper.RequestMapper;
 import ru.practicum.request.model.ItemRequest;
 import ru.practicum.request.repository.RequestRepository;
 import ru.practicum.user.model.User;
 import ru.practicum.user.validation.UserValidation;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service("requestServiceImpl")
+@Slf4j
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class RequestServiceImpl implements RequestService {
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+
     private final RequestRepository requestRepository;
     private final ItemRepository itemRepository;
     private final RequestMapper mapper;
     private final UserValidation userValidation;
+    private final CacheInvalidator cacheInvalidator;
 
     @Override
     public ItemRequestDto createItemRequest(Integer userId, ItemRequestDto itemRequestDto) {
         User user = userValidation.checkUserExist(userId);
         ItemRequest itemRequest = mapper.toModel(itemRequestDto);
         itemRequest.setRequestor(user);
+        // the database keeps microseconds, a cursor made from the returned value has to match the stored one
+        itemRequest.setCreated(itemRequest.getCreated().truncatedTo(ChronoUnit.MICROS));
         ItemRequest itemFromRepository = requestRepository.save(itemRequest);
+        cacheInvalidator.requestCreated(userId);
         return mapper.toDto(itemFromRepository);
     }
 
     @Override
-    @Cacheable(cacheNames = {"findAllItemRequestsByUser"}, key = "#userId")
+    @Cacheable(cacheNames = {CacheNames.FIND_ALL_ITEM_REQUESTS_BY_USER}, key = "#userId")
     public List<ItemRequestInfo> findAllItemRequestsByUser(Integer userId) {
         userValidation.checkUserExist(userId);
-        List<ItemRequestInfo> requestList = new ArrayList<>();
-        List<ItemRequest> itemRequests = requestRepository.findAllBuRequestor(userId);
-        for (ItemRequest request : itemRequests) {
-            List<ItemDto> items = itemRepository.findItemsByRequest(request.getId());
-            ItemRequestInfo itemRequestInfo = mapper.toDto(request, items);
-            requestList.add(itemRequestInfo);
-        }
-        return requestList;
+        return withItems(requestRepository.findAllBuRequestor(userId));
     }
 
     @Override
-    @Cacheable(cacheNames = {"findAllItemRequests"}, key = "{#userId, #pageable.pageNumber, #pageable.pageSize}")
-    public List<ItemRequestInfo> findAllItemRequests(Integer userId, Pageable pageable) {
-        List<ItemRequestInfo> requestList = new ArrayList<>();
-        List<ItemRequest> itemRequests = requestRepository.findAllExceptRequestor(userId, pageable);
-        for (ItemRequest request : itemRequests) {
-            List<ItemDto> items = itemRepository.findItemsByRequest(request.getId());
-            ItemRequestInfo itemRequestInfo = mapper.toDto(request, items);
-            requestList.add(itemRequestInfo);
-        }
-        return requestList;
+    @Cacheable(cacheNames = {CacheNames.FIND_ALL_ITEM_REQUESTS},
+            key = "{#userId, #cursor, #since, #pageable.pageNumber, #pageable.pageSize}")
+    public List<ItemRequestInfo> findAllItemRequests(Integer userId, String cursor, LocalDateTime since,
+                                                     Pageable pageable) {
+        RequestCursor after = checkCursor(cursor);
+        return withItems(requestRepository.findAllExceptRequestor(userId, since != null ? since : EARLIEST,
+                after.getCreated(), after.getId(), pageable));
     }
 
     @Override
-    @Cacheable(cacheNames = {"findItemRequest"}, key = "{#userId, #requestId}")
+    @Cacheable(cacheNames = {CacheNames.FIND_ITEM_REQUEST}, key = "{#userId, #requestId}")
     public ItemRequestInfo findItemRequest(Integer userId, Integer requestId) {
         userValidation.checkUserExist(userId);
         Optional<ItemRequest> itemRequest = requestRepository.findById(requestId);
@@ -74,4 +82,30 @@ public class RequestServiceImpl implements RequestService {
         }
         throw new RequestNotFoundException("The ru.practicum.item ru.practicum.request doesn't exist");
     }
+
+    private RequestCursor checkCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return RequestCursor.FIRST;
+        }
+        try {
+            return RequestCursor.decode(cursor);
+        } catch (RuntimeException e) {
+            log.error("Validation failed. The cursor {} is malformed", cursor);
+            throw new ValidationException("The cursor is malformed");
+        }
+    }
+
+    // one query for the items of the whole page instead of one per request
+    private List<ItemRequestInfo> withItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Integer, List<ItemDto>> items = itemRepository.findItemsByRequestIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        return itemRequests.stream()
+                .map(request -> mapper.toDto(request, items.getOrDefault(request.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
 }
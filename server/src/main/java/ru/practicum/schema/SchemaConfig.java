@@ -0,0 +1,62 @@
+package ru.practicum.schema;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.ErrorCode;
+import org.flywaydb.core.api.output.ValidateOutput;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// a plain boot only checks that the database is at the latest migration,
+// changing the schema or the data takes the migrate or seed profile
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(SchemaProperties.class)
+public class SchemaConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(SchemaProperties properties, ResourceLoader resourceLoader) {
+        return flyway -> {
+            if (properties.isMigrate()) {
+                realignChecksums(flyway, properties.getRealignedChecksums());
+                flyway.migrate();
+            } else {
+                flyway.validate();
+            }
+            if (properties.isSeed()) {
+                log.info("Seeding the database from {}", properties.getSeedLocations());
+                ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+                properties.getSeedLocations().forEach(location ->
+                        populator.addScript(resourceLoader.getResource(location)));
+                populator.execute(flyway.getConfiguration().getDataSource());
+            }
+        };
+    }
+
+    // a migration whose comments were corrected after it ran no longer matches the checksum recorded for it;
+    // only the versions listed here are realigned, and only when nothing else fails, any other mismatch still stops
+    private static void realignChecksums(Flyway flyway, Set<String> versions) {
+        if (versions.isEmpty()) {
+            return;
+        }
+        List<ValidateOutput> mismatches = flyway.validateWithResult().invalidMigrations.stream()
+                .filter(output -> output.errorDetails != null
+                        && output.errorDetails.errorCode == ErrorCode.CHECKSUM_MISMATCH)
+                .collect(Collectors.toList());
+        if (mismatches.isEmpty()
+                || !mismatches.stream().allMatch(output -> versions.contains(output.version))) {
+            return;
+        }
+        log.info("Realigning the checksums of the migrations {}",
+                mismatches.stream().map(output -> output.version).collect(Collectors.toList()));
+        flyway.repair();
+    }
+}
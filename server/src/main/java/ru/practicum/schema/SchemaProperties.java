@@ -0,0 +1,19 @@
+package ru.practicum.schema;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.schema")
+public class SchemaProperties {
+    private boolean migrate = false;
+    private boolean seed = false;
+    private List<String> seedLocations = new ArrayList<>(List.of("classpath:db/seed/data.sql"));
+    // V4 had only a comment corrected after it was applied
+    private Set<String> realignedChecksums = new HashSet<>(Set.of("4"));
+}
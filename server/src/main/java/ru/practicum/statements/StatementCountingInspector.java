@@ -0,0 +1,12 @@
+package ru.practicum.statements;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementScope.statementPrepared();
+        return sql;
+    }
+}
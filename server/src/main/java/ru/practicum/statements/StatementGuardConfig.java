@@ -0,0 +1,17 @@
+package ru.practicum.statements;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StatementGuardProperties.class)
+@ConditionalOnProperty(name = "shareit.statements.guard.enabled", havingValue = "true")
+public class StatementGuardConfig {
+
+    @Bean
+    public StatementGuardFilter statementGuardFilter(StatementGuardProperties properties) {
+        return new StatementGuardFilter(properties.getMaxPerRequest());
+    }
+}
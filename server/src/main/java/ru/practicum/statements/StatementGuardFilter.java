@@ -0,0 +1,31 @@
+package ru.practicum.statements;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Slf4j
+public class StatementGuardFilter extends OncePerRequestFilter {
+    private final int maxPerRequest;
+
+    public StatementGuardFilter(int maxPerRequest) {
+        this.maxPerRequest = maxPerRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (StatementScope scope = StatementScope.open()) {
+            chain.doFilter(request, response);
+            if (scope.count() > maxPerRequest) {
+                log.warn("{} {} ran {} SQL statements, more than the {} allowed per request",
+                        request.getMethod(), request.getRequestURI(), scope.count(), maxPerRequest);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.statements;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.statements.guard")
+public class StatementGuardProperties {
+    private boolean enabled = false;
+    private int maxPerRequest = 20;
+}
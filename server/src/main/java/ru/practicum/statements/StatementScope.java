@@ -0,0 +1,39 @@
+package ru.practicum.statements;
+
+// Counts the SQL statements prepared on the current thread while it is open. Scopes nest,
+// a statement counts towards every open scope, so a test can measure inside a request the guard also measures
+public final class StatementScope implements AutoCloseable {
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+
+    private final StatementScope parent;
+    private int count;
+
+    private StatementScope(StatementScope parent) {
+        this.parent = parent;
+    }
+
+    public static StatementScope open() {
+        StatementScope scope = new StatementScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void statementPrepared() {
+        for (StatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    @Override
+    public void close() {
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package ru.practicum.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import ru.practicum.booking.validation.BookingIntervalCache;
+import ru.practicum.cache.CacheInvalidator;
+import ru.practicum.cache.CacheNames;
+import ru.practicum.item.search.ItemSearch;
 import ru.practicum.user.dto.UserDto;
 import ru.practicum.user.mapper.UserMapper;
 import ru.practicum.user.model.User;
@@ -16,10 +19,14 @@ import java.util.stream.Collectors;
 
 @Service("userServiceImpl")
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
     private final UserValidation validation;
     private final UserMapper mapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final ItemSearch itemSearch;
+    private final BookingIntervalCache intervalCache;
 
     @Override
     public UserDto createUser(UserDto userDto) {
@@ -29,7 +36,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Cacheable(cacheNames = {"findUser"}, key = "#userId")
+    @Cacheable(cacheNames = {CacheNames.FIND_USER}, key = "#userId")
     public UserDto findUser(Integer userId) {
         User user = validation.checkUserExist(userId);
         return mapper.toDto(user);
@@ -44,7 +51,6 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @CachePut(cacheNames = {"updateUser"}, key = "#userId")
     public UserDto updateUser(Integer userId, UserDto userDto) {
         User user = validation.checkUserExist(userId);
         if (userDto.getName() != null) {
@@ -54,12 +60,15 @@ public class UserServiceImpl implements UserService {
             user.setEmail(userDto.getEmail());
         }
         User userFromRepository = repository.saveAndFlush(user);
+        cacheInvalidator.userChanged(userId);
         return mapper.toDto(userFromRepository);
     }
 
     @Override
-    @CacheEvict(cacheNames = {"deleteUser"}, key = "#userId")
     public void deleteUser(Integer userId) {
         repository.deleteById(userId);
+        cacheInvalidator.userDeleted();
+        itemSearch.removeOwner(userId);
+        intervalCache.clear();
     }
 }
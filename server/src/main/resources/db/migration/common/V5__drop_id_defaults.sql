@@ -0,0 +1,9 @@
+-- The sequences step by 100 for Hibernate's pooled-lo ids, so a column default burned a whole block on every
+-- plain SQL insert and a large seed ran out of INTEGER ids. Plain inserts now have to take their ids from the
+-- sequence themselves, the way the load test and the benchmarks do.
+
+ALTER TABLE users ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE requests ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE items ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE bookings ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE comments ALTER COLUMN id DROP DEFAULT;
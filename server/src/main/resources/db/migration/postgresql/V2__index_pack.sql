@@ -0,0 +1,18 @@
+-- CONCURRENTLY keeps the tables writable while the indexes build, so Flyway runs this file outside a transaction.
+-- A failed build leaves an INVALID index behind: drop it before running the migration again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_owner ON items (owner);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_item ON comments (item_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_requests_requestor_created ON requests (requestor, created DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
+
+-- WAITING is the state owners poll to approve, and a small slice of all bookings
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_booker_waiting ON bookings (booker_id, start_time DESC, id DESC)
+    WHERE status = 'WAITING';
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_item_waiting ON bookings (item_id, start_time DESC, id DESC)
+    WHERE status = 'WAITING';
+-- the approved periods of an item, read by the overlap check and the comment check
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_item_approved_end ON bookings (item_id, end_time)
+    WHERE status = 'APPROVED';
@@ -0,0 +1,16 @@
+-- the id columns have no default, a row added here takes its id from the sequence, e.g. nextval('users_seq')
+
+DELETE FROM users;
+ALTER SEQUENCE users_seq RESTART WITH 1;
+
+DELETE FROM requests;
+ALTER SEQUENCE requests_seq RESTART WITH 1;
+
+DELETE FROM items;
+ALTER SEQUENCE items_seq RESTART WITH 1;
+
+DELETE FROM bookings;
+ALTER SEQUENCE bookings_seq RESTART WITH 1;
+
+DELETE FROM comments;
+ALTER SEQUENCE comments_seq RESTART WITH 1;
\ No newline at end of file
@@ -12,9 +12,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.booking.constants.BookingStatus;
 import ru.practicum.booking.controller.BookingController;
 import ru.practicum.booking.dto.Booker;
+import ru.practicum.booking.dto.BookingBatchResult;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingInfo;
 import ru.practicum.booking.service.BookingService;
+import ru.practicum.exceptions.BookingAccessDeniedException;
+import ru.practicum.exceptions.BookingStatusConflictException;
 import ru.practicum.item.model.Item;
 
 import java.nio.charset.StandardCharsets;
@@ -23,8 +27,10 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -69,6 +75,29 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(bookingInfo1.getStatus().toString())));
     }
 
+    @Test
+    void createBookings() throws Exception {
+        Integer userId = 1;
+        List<BookingBatchResult> results = List.of(
+                BookingBatchResult.builder().index(0).booking(bookingInfo1).build(),
+                BookingBatchResult.builder().index(1).error("The ru.practicum.item with id isn't available").build());
+
+        when(service.createBookings(anyInt(), anyList()))
+                .thenReturn(results);
+
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(mapper.writeValueAsString(List.of(bookingDto, bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingInfo1.getId())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].error", is(results.get(1).getError())));
+    }
+
     @Test
     void approvingBooking() throws Exception {
         Integer bookingId = 1;
@@ -89,6 +118,48 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(bookingInfo1.getStatus().toString())));
     }
 
+    @Test
+    void approvingBookingChangedConcurrently() throws Exception {
+        when(service.approvingBooking(anyInt(), anyInt(), anyBoolean()))
+                .thenThrow(new BookingStatusConflictException("The status of ru.practicum.booking has already been changed"));
+
+        mvc.perform(patch("/bookings/{bookingId}", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("approved", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("The status of ru.practicum.booking has already been changed")));
+    }
+
+    @Test
+    void approvingBookingByNotTheOwner() throws Exception {
+        when(service.approvingBooking(anyInt(), anyInt(), anyBoolean()))
+                .thenThrow(new BookingAccessDeniedException(
+                        "Only the owner of the ru.practicum.item can approve or reject the ru.practicum.booking"));
+
+        mvc.perform(patch("/bookings/{bookingId}", 1)
+                        .header("X-Sharer-User-Id", 2)
+                        .param("approved", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void cancelBooking() throws Exception {
+        bookingInfo1.setStatus(BookingStatus.CANCELED);
+        when(service.cancelBooking(anyInt(), anyInt()))
+                .thenReturn(bookingInfo1);
+
+        mvc.perform(patch("/bookings/{bookingId}/cancel", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is(BookingStatus.CANCELED.toString())));
+    }
+
     @Test
     void findBooking() throws Exception {
         Integer bookingId = 1;
@@ -112,7 +183,7 @@ public class BookingControllerTest {
         Integer userId = 1;
         Integer expectedSize = 3;
 
-        when(service.findAllBookingsCustomer(anyInt(), anyString(), any(Pageable.class)))
+        when(service.findAllBookingsCustomer(anyInt(), anyString(), any(), any(Pageable.class)))
                 .thenReturn(List.of(bookingInfo1, bookingInfo2, bookingInfo3));
 
         mvc.perform(get("/bookings")
@@ -132,12 +203,49 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.[2].status", is(bookingInfo3.getStatus().toString())));
     }
 
+    @Test
+    void findAllBookingsCustomerNextCursor() throws Exception {
+        Integer userId = 1;
+        bookingInfo2.setId(2);
+
+        when(service.findAllBookingsCustomer(anyInt(), anyString(), any(), any(Pageable.class)))
+                .thenReturn(List.of(bookingInfo1, bookingInfo2));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER,
+                        BookingCursor.after(bookingInfo2).encode()));
+    }
+
+    @Test
+    void findAllBookingsCustomerFromIsAnOffset() throws Exception {
+        Integer userId = 1;
+
+        when(service.findAllBookingsCustomer(anyInt(), anyString(), any(), any(Pageable.class)))
+                .thenReturn(List.of(bookingInfo1));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("from", "5")
+                        .param("size", "10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(service).findAllBookingsCustomer(eq(userId), eq("ALL"), isNull(),
+                argThat(pageable -> pageable.getOffset() == 5 && pageable.getPageSize() == 10));
+    }
+
     @Test
     void findAllBookingsOwner() throws Exception {
         Integer userId = 1;
         Integer expectedSize = 3;
 
-        when(service.findAllBookingsOwner(anyInt(), anyString(), any(Pageable.class)))
+        when(service.findAllBookingsOwner(anyInt(), anyString(), any(), any(Pageable.class)))
                 .thenReturn(List.of(bookingInfo1, bookingInfo2, bookingInfo3));
 
         mvc.perform(get("/bookings/owner")
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.constants.BookingState;
+import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.BookingCursor;
+import ru.practicum.booking.dto.BookingQuery;
+import ru.practicum.booking.model.Booking;
+import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.item.model.Item;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.user.model.User;
+import ru.practicum.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BookingQueryRepositoryExplainTest {
+    private final BookingRepository repository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final DataSource dataSource;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@mail.com").build());
+        for (int i = 0; i < 5; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Indexed item " + i)
+                    .description("For something")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            repository.save(Booking.builder()
+                    .item(item)
+                    .start(LocalDateTime.now().plusDays(i))
+                    .end(LocalDateTime.now().plusDays(i + 1))
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+    }
+
+    @Test
+    void verifyEveryStateUsesIndexes() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : BookingState.values()) {
+                BookingQuery query = BookingQuery.builder()
+                        .role(role)
+                        .state(state)
+                        .userId(role == BookingRole.OWNER ? owner.getId() : booker.getId())
+                        .now(LocalDateTime.now())
+                        .after(BookingCursor.FIRST)
+                        .build();
+                repository.findAllBy(query,
+                        PageRequest.of(0, 10, Sort.by("start").descending().and(Sort.by("id").descending())));
+
+                String sql = CapturingStatementInspector.lastSql();
+                Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+                String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+
+                assertThat(role + " " + state + ":\n" + plan, plan, not(containsStringIgnoringCase("tableScan")));
+            }
+        }
+    }
+}
@@ -8,8 +8,12 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.booking.constants.BookingRole;
+import ru.practicum.booking.constants.BookingState;
 import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingFromRepository;
+import ru.practicum.booking.dto.BookingQuery;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.booking.repository.BookingRepository;
 import ru.practicum.item.model.Item;
@@ -224,10 +228,115 @@ public class BookingRepositoryTest {
         assertThat(entityManager.getId(booking1), notNullValue());
         assertThat(entityManager.getId(booking2), notNullValue());
         assertThat(entityManager.getId(booking3), notNullValue());
-        List<BookingFromRepository> bookingsFromRepository = repository.findAllByBooker(user1.getId(), PageRequest.of(0, 10));
+        BookingQuery query = BookingQuery.builder()
+                .role(BookingRole.BOOKER)
+                .state(BookingState.ALL)
+                .userId(user1.getId())
+                .now(LocalDateTime.now())
+                .after(BookingCursor.FIRST)
+                .build();
+        List<BookingFromRepository> bookingsFromRepository = repository.findAllBy(query, PageRequest.of(0, 10));
         assertThat(bookingsFromRepository.size(), equalTo(expectedSize));
         assertThat(user1.getId(), sameInstance(booking2.getBooker().getId()));
         assertThat(booking2.getBooker().getId(), sameInstance(bookingsFromRepository.get(0).getBookerId()));
         assertThat(booking2.getItem().getId(), sameInstance(bookingsFromRepository.get(0).getItemId()));
     }
+
+    @Test
+    void verifyFindLastAndNextBookingsArePerItem() {
+        Booking pastOfItem1 = Booking
+                .builder()
+                .item(item1)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .booker(user2)
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        Booking pastOfItem2 = Booking
+                .builder()
+                .item(item2)
+                .start(LocalDateTime.now().minusDays(1))
+                .end(LocalDateTime.now().minusHours(1))
+                .booker(user3)
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        Booking futureOfItem1 = Booking
+                .builder()
+                .item(item1)
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .booker(user3)
+                .status(BookingStatus.WAITING)
+                .build();
+
+        Booking futureOfItem2 = Booking
+                .builder()
+                .item(item2)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .booker(user1)
+                .status(BookingStatus.WAITING)
+                .build();
+
+        repository.save(pastOfItem1);
+        repository.save(pastOfItem2);
+        repository.save(futureOfItem1);
+        repository.save(futureOfItem2);
+
+        List<BookingFromRepository> lastBookings = repository.findLastBookings(List.of(item1.getId()));
+        List<BookingFromRepository> nextBookings = repository.findNextBookings(List.of(item1.getId()));
+        List<BookingFromRepository> lastOfBothItems = repository.findLastBookings(List.of(item1.getId(), item2.getId()));
+
+        assertThat(lastBookings.size(), equalTo(1));
+        assertThat(lastBookings.get(0).getBookingId(), equalTo(pastOfItem1.getId()));
+        assertThat(nextBookings.size(), equalTo(1));
+        assertThat(nextBookings.get(0).getBookingId(), equalTo(futureOfItem1.getId()));
+        assertThat(lastOfBothItems.size(), equalTo(2));
+    }
+
+    @Test
+    void verifyChangeStatusOnlyOfAWaitingBookingByTheOwner() {
+        Booking booking = repository.save(Booking
+                .builder()
+                .item(item1)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .booker(user2)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        int byNotTheOwner = repository.changeStatus(booking.getId(), user2.getId(), BookingStatus.APPROVED);
+        int approved = repository.changeStatus(booking.getId(), user1.getId(), BookingStatus.APPROVED);
+        int rejected = repository.changeStatus(booking.getId(), user1.getId(), BookingStatus.REJECTED);
+        int canceled = repository.cancel(booking.getId(), user2.getId());
+
+        assertThat(byNotTheOwner, equalTo(0));
+        assertThat(approved, equalTo(1));
+        assertThat(rejected, equalTo(0));
+        assertThat(canceled, equalTo(0));
+        assertThat(repository.findById(booking.getId()).orElseThrow().getStatus(), equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void verifyCancelOnlyAWaitingBookingByTheBooker() {
+        Booking booking = repository.save(Booking
+                .builder()
+                .item(item1)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .booker(user2)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        int byTheOwner = repository.cancel(booking.getId(), user1.getId());
+        int canceled = repository.cancel(booking.getId(), user2.getId());
+        int approved = repository.changeStatus(booking.getId(), user1.getId(), BookingStatus.APPROVED);
+
+        assertThat(byTheOwner, equalTo(0));
+        assertThat(canceled, equalTo(1));
+        assertThat(approved, equalTo(0));
+        assertThat(repository.findById(booking.getId()).orElseThrow().getStatus(), equalTo(BookingStatus.CANCELED));
+    }
 }
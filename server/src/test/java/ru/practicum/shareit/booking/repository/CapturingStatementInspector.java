@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.statements.StatementCountingInspector;
+
+public class CapturingStatementInspector extends StatementCountingInspector {
+    private static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        LAST_SQL.set(sql);
+        return super.inspect(sql);
+    }
+
+    public static String lastSql() {
+        return LAST_SQL.get();
+    }
+}
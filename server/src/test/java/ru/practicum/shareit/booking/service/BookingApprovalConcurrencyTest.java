@@ -0,0 +1,180 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.model.Booking;
+import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.booking.service.BookingService;
+import ru.practicum.exceptions.BookingOverlapException;
+import ru.practicum.exceptions.BookingStatusConflictException;
+import ru.practicum.item.model.Item;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.user.model.User;
+import ru.practicum.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+// not transactional, every approval has to commit on its own like it does behind the controller
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@AutoConfigureTestDatabase
+public class BookingApprovalConcurrencyTest {
+    private static final int ROUNDS = 20;
+
+    private final BookingService service;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository repository;
+    private final List<Booking> bookings = new ArrayList<>();
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(makeUser("Owner", "concurrency-owner@mail.com"));
+        booker = userRepository.save(makeUser("Booker", "concurrency-booker@mail.com"));
+        item = itemRepository.save(makeItem("Item1", "For something great", true, owner));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll(bookings);
+        itemRepository.delete(item);
+        userRepository.delete(booker);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void verifyApprovingOverlappingBookingsConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                LocalDateTime start = LocalDateTime.now().plusDays(round * 2L + 1);
+                Booking first = save(makeBooking(item, booker, start, start.plusHours(2)));
+                Booking second = save(makeBooking(item, booker, start.plusHours(1), start.plusHours(3)));
+                CountDownLatch startGate = new CountDownLatch(1);
+
+                Future<?> firstApproval = executor.submit(changeStatus(startGate, first, true));
+                Future<?> secondApproval = executor.submit(changeStatus(startGate, second, true));
+                startGate.countDown();
+
+                List<Throwable> failures = new ArrayList<>();
+                for (Future<?> approval : List.of(firstApproval, secondApproval)) {
+                    try {
+                        approval.get(10, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        failures.add(e.getCause());
+                    }
+                }
+
+                long approved = repository.findAllById(List.of(first.getId(), second.getId())).stream()
+                        .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                        .count();
+                assertThat(approved, is(1L));
+                assertThat(failures.size(), is(1));
+                assertThat(failures.get(0), instanceOf(BookingOverlapException.class));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void verifyChangingStatusOfTheSameBookingConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                LocalDateTime start = LocalDateTime.now().plusDays(round + 1);
+                Booking booking = save(makeBooking(item, booker, start, start.plusHours(2)));
+                CountDownLatch startGate = new CountDownLatch(1);
+
+                Future<BookingInfo> approval = executor.submit(changeStatus(startGate, booking, true));
+                Future<BookingInfo> rejection = executor.submit(changeStatus(startGate, booking, false));
+                startGate.countDown();
+
+                List<BookingInfo> changes = new ArrayList<>();
+                List<Throwable> failures = new ArrayList<>();
+                for (Future<BookingInfo> change : List.of(approval, rejection)) {
+                    try {
+                        changes.add(change.get(10, TimeUnit.SECONDS));
+                    } catch (ExecutionException e) {
+                        failures.add(e.getCause());
+                    }
+                }
+
+                assertThat(changes.size(), is(1));
+                assertThat(repository.findById(booking.getId()).orElseThrow().getStatus(),
+                        is(changes.get(0).getStatus()));
+                assertThat(failures.get(0), instanceOf(BookingStatusConflictException.class));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<BookingInfo> changeStatus(CountDownLatch startGate, Booking booking, boolean approved) {
+        return () -> {
+            startGate.await();
+            return service.approvingBooking(owner.getId(), booking.getId(), approved);
+        };
+    }
+
+    private Booking save(Booking booking) {
+        Booking saved = repository.save(booking);
+        bookings.add(saved);
+        return saved;
+    }
+
+    private Booking makeBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        Booking.BookingBuilder builder = Booking.builder();
+
+        builder.item(item);
+        builder.start(start);
+        builder.end(end);
+        builder.booker(booker);
+        builder.status(BookingStatus.WAITING);
+
+        return builder.build();
+    }
+
+    private Item makeItem(String name, String description, Boolean available, User owner) {
+        Item.ItemBuilder builder = Item.builder();
+
+        builder.name(name);
+        builder.description(description);
+        builder.available(available);
+        builder.owner(owner);
+
+        return builder.build();
+    }
+
+    private User makeUser(String name, String email) {
+        User.UserBuilder builder = User.builder();
+
+        builder.name(name);
+        builder.email(email);
+
+        return builder.build();
+    }
+}
@@ -7,12 +7,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.constants.BookingRole;
 import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.BookingBatchResult;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingInfo;
 import ru.practicum.booking.mapper.BookingMapper;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.booking.service.BookingService;
+import ru.practicum.exceptions.ValidationException;
+import ru.practicum.export.ExportFormat;
 import ru.practicum.item.dto.ItemDto;
 import ru.practicum.item.service.ItemService;
 import ru.practicum.user.dto.UserDto;
@@ -20,12 +24,16 @@ import ru.practicum.user.service.UserService;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -79,12 +87,50 @@ public class BookingServiceImplIT {
         assertThat(booking.getStatus(), equalTo(BookingStatus.WAITING));
     }
 
+    @Test
+    void createBookingsTest() {
+        List<BookingDto> bookingDtos = List.of(
+                makeBookingDto(item2.getId(), LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2)),
+                makeBookingDto(item1.getId(), LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2)),
+                makeBookingDto(100, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2)),
+                makeBookingDto(item3.getId(), LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(1)),
+                makeBookingDto(item3.getId(), LocalDateTime.now().plusHours(3), LocalDateTime.now().plusHours(4)));
+
+        List<BookingBatchResult> results = service.createBookings(user1.getId(), bookingDtos);
+
+        assertThat(results.stream().map(BookingBatchResult::getIndex).collect(Collectors.toList()),
+                contains(0, 1, 2, 3, 4));
+        assertThat(results.get(0).getBooking().getItem().getId(), equalTo(item2.getId()));
+        assertThat(results.get(0).getBooking().getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(results.get(1).getError(), containsString("owner"));
+        assertThat(results.get(2).getError(), containsString("doesn't exists"));
+        assertThat(results.get(3).getError(), containsString("before the start time"));
+        assertThat(results.get(4).getBooking().getItem().getId(), equalTo(item3.getId()));
+        assertThat(results.get(4).getError(), nullValue());
+
+        List<Booking> bookings = entityManager
+                .createQuery("select b from Booking b where b.booker.id = :bookerId order by b.id", Booking.class)
+                .setParameter("bookerId", user1.getId())
+                .getResultList();
+        assertThat(bookings.stream().map(Booking::getId).collect(Collectors.toList()),
+                contains(results.get(0).getBooking().getId(), results.get(4).getBooking().getId()));
+    }
+
+    @Test
+    void createBookingsUnexpectedFailureIsNotAnEntryErrorTest() {
+        List<BookingDto> bookingDtos = List.of(
+                makeBookingDto(item2.getId(), LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2)),
+                makeBookingDto(item3.getId(), null, LocalDateTime.now().plusHours(2)));
+
+        assertThrows(NullPointerException.class, () -> service.createBookings(user1.getId(), bookingDtos));
+    }
+
     @Test
     void findAllBookingsCustomerTest() {
         Integer userId = user1.getId();
         Integer expectedSize = 2;
 
-        assertThat(service.findAllBookingsCustomer(user1.getId(), "FUTURE", PageRequest.of(0, 10)), empty());
+        assertThat(service.findAllBookingsCustomer(user1.getId(), "FUTURE", null, PageRequest.of(0, 10)), empty());
 
         BookingDto bookingDto1 = makeBookingDto(item2.getId(),
                 LocalDateTime.now().plusHours(1),
@@ -117,7 +163,7 @@ public class BookingServiceImplIT {
         Integer userId = user1.getId();
         Integer expectedSize = 1;
 
-        assertThat(service.findAllBookingsOwner(user1.getId(), "FUTURE", PageRequest.of(0, 10)), empty());
+        assertThat(service.findAllBookingsOwner(user1.getId(), "FUTURE", null, PageRequest.of(0, 10)), empty());
 
         BookingDto bookingDto1 = makeBookingDto(item2.getId(),
                 LocalDateTime.now().plusHours(1),
@@ -144,6 +190,32 @@ public class BookingServiceImplIT {
         assertThat(bookingInfoList.get(0).getStatus(), equalTo(BookingStatus.WAITING));
     }
 
+    @Test
+    void exportBookingsOwnerAsCsvTest() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        BookingInfo first = service.createBooking(user2.getId(),
+                makeBookingDto(item1.getId(), start, start.plusHours(1)));
+        BookingInfo second = service.createBooking(user3.getId(),
+                makeBookingDto(item1.getId(), start.plusDays(1), start.plusDays(1).plusHours(1)));
+        service.createBooking(user1.getId(), makeBookingDto(item2.getId(), start, start.plusHours(1)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.exportBookings(user1.getId(), BookingRole.OWNER, "ALL", ExportFormat.CSV).writeTo(output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\r\n"), arrayContaining(
+                "id,start,end,status,itemId,itemName,bookerId,bookerName",
+                second.getId() + ",2030-01-02T10:00,2030-01-02T11:00,WAITING," + item1.getId() + ",Item1,"
+                        + user3.getId() + ",John",
+                first.getId() + ",2030-01-01T10:00,2030-01-01T11:00,WAITING," + item1.getId() + ",Item1,"
+                        + user2.getId() + ",James"));
+    }
+
+    @Test
+    void exportBookingsWithUnknownStateTest() {
+        assertThrows(ValidationException.class,
+                () -> service.exportBookings(user1.getId(), BookingRole.BOOKER, "SOON", ExportFormat.NDJSON));
+    }
+
     private ItemDto makeItemDto(String name, String description, Boolean available) {
         ItemDto.ItemDtoBuilder builder = ItemDto.builder();
 
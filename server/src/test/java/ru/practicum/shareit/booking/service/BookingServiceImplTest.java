@@ -7,14 +7,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.BookingCursor;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.dto.OffsetPageRequest;
 import ru.practicum.booking.mapper.BookingMapper;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.booking.repository.BookingRepository;
 import ru.practicum.booking.service.BookingService;
+import ru.practicum.exceptions.BookingAccessDeniedException;
+import ru.practicum.exceptions.BookingOverlapException;
+import ru.practicum.exceptions.BookingStatusConflictException;
 import ru.practicum.exceptions.ValidationException;
 import ru.practicum.item.model.Item;
 import ru.practicum.item.repository.ItemRepository;
@@ -105,6 +111,96 @@ public class BookingServiceImplTest {
         assertThat(bookingFromRepository.getStatus(), is(BookingStatus.REJECTED));
     }
 
+    @Test
+    void verifyRejectingApprovedBookingException() {
+        service.approvingBooking(userDto.getId(), bookingInfo1.getId(), true);
+
+        final BookingStatusConflictException exception = assertThrows(
+                BookingStatusConflictException.class,
+                () -> service.approvingBooking(userDto.getId(), bookingInfo1.getId(), false));
+
+        assertThat("The status of ru.practicum.booking is already approved", is(exception.getMessage()));
+        assertThat(repository.findById(bookingInfo1.getId()).orElseThrow().getStatus(), is(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void verifyApprovingRejectedBookingException() {
+        service.approvingBooking(userDto.getId(), bookingInfo1.getId(), false);
+
+        final BookingStatusConflictException exception = assertThrows(
+                BookingStatusConflictException.class,
+                () -> service.approvingBooking(userDto.getId(), bookingInfo1.getId(), true));
+
+        assertThat("The status of ru.practicum.booking is already rejected", is(exception.getMessage()));
+    }
+
+    @Test
+    void verifyApprovingApprovedBookingException() {
+        service.approvingBooking(userDto.getId(), bookingInfo1.getId(), true);
+
+        final BookingStatusConflictException exception = assertThrows(
+                BookingStatusConflictException.class,
+                () -> service.approvingBooking(userDto.getId(), bookingInfo1.getId(), true));
+
+        assertThat("The status of ru.practicum.booking is already approved", is(exception.getMessage()));
+    }
+
+    @Test
+    void verifyApprovingByNotTheOwnerException() {
+        final BookingAccessDeniedException exception = assertThrows(
+                BookingAccessDeniedException.class,
+                () -> service.approvingBooking(booker.getId(), bookingInfo1.getId(), true));
+
+        assertThat("Only the owner of the ru.practicum.item can approve or reject the ru.practicum.booking",
+                is(exception.getMessage()));
+        assertThat(repository.findById(bookingInfo1.getId()).orElseThrow().getStatus(), is(BookingStatus.WAITING));
+    }
+
+    @Test
+    void cancelBookingTest() {
+        BookingInfo bookingFromRepository = service.cancelBooking(booker.getId(), bookingInfo1.getId());
+
+        assertThat(bookingFromRepository.getStatus(), is(BookingStatus.CANCELED));
+        assertThat(repository.findById(bookingInfo1.getId()).orElseThrow().getStatus(), is(BookingStatus.CANCELED));
+    }
+
+    @Test
+    void verifyCancelingApprovedBookingException() {
+        service.approvingBooking(userDto.getId(), bookingInfo1.getId(), true);
+
+        final BookingStatusConflictException exception = assertThrows(
+                BookingStatusConflictException.class,
+                () -> service.cancelBooking(booker.getId(), bookingInfo1.getId()));
+
+        assertThat("The status of ru.practicum.booking is already approved", is(exception.getMessage()));
+    }
+
+    @Test
+    void verifyApprovingOverlappingBookingException() {
+        service.approvingBooking(userDto.getId(), bookingInfo1.getId(), true);
+        Booking overlappingToSave = makeBooking(item, booker,
+                LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(3));
+        Booking overlapping = repository.save(overlappingToSave);
+
+        final BookingOverlapException exception = assertThrows(
+                BookingOverlapException.class,
+                () -> service.approvingBooking(userDto.getId(), overlapping.getId(), true));
+
+        assertThat("The booking overlaps an approved booking of the item", is(exception.getMessage()));
+    }
+
+    @Test
+    void approvingAdjacentBookingTest() {
+        service.approvingBooking(userDto.getId(), bookingInfo1.getId(), true);
+        Booking adjacentToSave = makeBooking(item, booker,
+                bookingInfo1.getEnd(), bookingInfo1.getEnd().plusHours(1));
+        Booking adjacent = repository.save(adjacentToSave);
+
+        BookingInfo bookingFromRepository = service.approvingBooking(userDto.getId(), adjacent.getId(), true);
+
+        assertThat(bookingFromRepository.getStatus(), is(BookingStatus.APPROVED));
+    }
+
     @Test
     void findBookingTest() {
         assertThat(repository.findAll(), notNullValue());
@@ -127,7 +223,7 @@ public class BookingServiceImplTest {
         assertThat(repository.findAll().size(), is(currentSize));
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsCustomer(booker.getId(), "CURRENT", PageRequest.of(0, 10));
+                .findAllBookingsCustomer(booker.getId(), "CURRENT", null, PageRequest.of(0, 10));
 
         assertThat(bookingsCustomer.size(), is(expectedSizeToCustomer));
         assertThat(bookingInfo1.getId(), is(bookingsCustomer.get(0).getId()));
@@ -135,6 +231,24 @@ public class BookingServiceImplTest {
         assertThat(bookingInfo1.getBooker().getId(), is(bookingsCustomer.get(0).getBooker().getId()));
     }
 
+    @Test
+    void findAllBookingsCustomerFromNotMultipleOfSizeTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 3; i++) {
+            repository.save(makeBooking(item, booker, start.plusDays(i), start.plusDays(i).plusHours(1)));
+        }
+        List<BookingInfo> all = service.findAllBookingsCustomer(booker.getId(), "ALL", null,
+                new OffsetPageRequest(0, 10, Sort.by("start").descending().and(Sort.by("id").descending())));
+
+        List<BookingInfo> bookingsCustomer = service.findAllBookingsCustomer(booker.getId(), "ALL", null,
+                new OffsetPageRequest(1, 2, Sort.by("start").descending().and(Sort.by("id").descending())));
+
+        assertThat(all.size(), is(4));
+        assertThat(bookingsCustomer.size(), is(2));
+        assertThat(bookingsCustomer.get(0).getId(), is(all.get(1).getId()));
+        assertThat(bookingsCustomer.get(1).getId(), is(all.get(2).getId()));
+    }
+
     @Test
     void findAllBookingsCustomerPastTest() {
         Integer currentSize = 1;
@@ -148,7 +262,7 @@ public class BookingServiceImplTest {
         bookingInfo1 = mapper.toDto(booking);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsCustomer(booker.getId(), "PAST", PageRequest.of(0, 10));
+                .findAllBookingsCustomer(booker.getId(), "PAST", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToCustomer));
@@ -171,7 +285,7 @@ public class BookingServiceImplTest {
         bookingInfo1 = mapper.toDto(booking);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsCustomer(booker.getId(), "FUTURE", PageRequest.of(0, 10));
+                .findAllBookingsCustomer(booker.getId(), "FUTURE", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToCustomer));
@@ -194,7 +308,7 @@ public class BookingServiceImplTest {
         BookingInfo bookingInfo2 = mapper.toDto(booking);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsCustomer(booker.getId(), "WAITING", PageRequest.of(0, 10));
+                .findAllBookingsCustomer(booker.getId(), "WAITING", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToCustomer));
@@ -220,7 +334,7 @@ public class BookingServiceImplTest {
         BookingInfo bookingFromRepository = service.approvingBooking(userDto.getId(), bookingInfo1.getId(), false);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsCustomer(booker.getId(), "REJECTED", PageRequest.of(0, 10));
+                .findAllBookingsCustomer(booker.getId(), "REJECTED", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToCustomer));
@@ -245,7 +359,7 @@ public class BookingServiceImplTest {
         BookingInfo bookingInfo2 = mapper.toDto(booking);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsCustomer(booker.getId(), "ALL", PageRequest.of(0, 10));
+                .findAllBookingsCustomer(booker.getId(), "ALL", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToCustomer));
@@ -257,13 +371,41 @@ public class BookingServiceImplTest {
         assertThat(bookingInfo1.getBooker().getId(), is(bookingsCustomer.get(0).getBooker().getId()));
     }
 
+    @Test
+    void findAllBookingsCustomerByCursorTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = repository.save(makeBooking(item, booker, start, start.plusHours(1)));
+        Booking second = repository.save(makeBooking(item, booker, start, start.plusHours(2)));
+        Booking third = repository.save(makeBooking(item, booker, start.minusHours(1), start));
+        PageRequest page = PageRequest.of(0, 2, Sort.by("start").descending().and(Sort.by("id").descending()));
+
+        List<BookingInfo> firstPage = service.findAllBookingsCustomer(booker.getId(), "FUTURE", null, page);
+        String cursor = BookingCursor.after(firstPage.get(1)).encode();
+        List<BookingInfo> secondPage = service.findAllBookingsCustomer(booker.getId(), "FUTURE", cursor, page);
+
+        assertThat(firstPage.size(), is(2));
+        assertThat(firstPage.get(0).getId(), is(second.getId()));
+        assertThat(firstPage.get(1).getId(), is(first.getId()));
+        assertThat(secondPage.size(), is(1));
+        assertThat(secondPage.get(0).getId(), is(third.getId()));
+    }
+
+    @Test
+    void verifyFindAllBookingsCustomerCursorException() {
+        final ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> service.findAllBookingsCustomer(booker.getId(), "ALL", "not a cursor", PageRequest.of(0, 10)));
+
+        assertThat("The cursor is malformed", is(exception.getMessage()));
+    }
+
     @Test
     void verifyFindAllBookingsCustomerException() {
         assertThat(repository.findAll(), notNullValue());
 
         final ValidationException exception = assertThrows(
                 ValidationException.class,
-                () -> service.findAllBookingsCustomer(booker.getId(), "MINE", PageRequest.of(0, 10)));
+                () -> service.findAllBookingsCustomer(booker.getId(), "MINE", null, PageRequest.of(0, 10)));
 
         assertThat("Unknown state: UNSUPPORTED_STATUS", is(exception.getMessage()));
     }
@@ -276,7 +418,7 @@ public class BookingServiceImplTest {
         assertThat(repository.findAll().size(), is(currentSize));
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsOwner(userDto.getId(), "CURRENT", PageRequest.of(0, 10));
+                .findAllBookingsOwner(userDto.getId(), "CURRENT", null, PageRequest.of(0, 10));
 
         assertThat(bookingsCustomer.size(), is(expectedSizeToOwner));
         assertThat(bookingInfo1.getId(), is(bookingsCustomer.get(0).getId()));
@@ -297,7 +439,7 @@ public class BookingServiceImplTest {
         bookingInfo1 = mapper.toDto(booking);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsOwner(userDto.getId(), "PAST", PageRequest.of(0, 10));
+                .findAllBookingsOwner(userDto.getId(), "PAST", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToOwner));
@@ -320,7 +462,7 @@ public class BookingServiceImplTest {
         bookingInfo1 = mapper.toDto(booking);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsOwner(userDto.getId(), "FUTURE", PageRequest.of(0, 10));
+                .findAllBookingsOwner(userDto.getId(), "FUTURE", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToOwner));
@@ -343,7 +485,7 @@ public class BookingServiceImplTest {
         BookingInfo bookingInfo2 = mapper.toDto(booking);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsOwner(userDto.getId(), "WAITING", PageRequest.of(0, 10));
+                .findAllBookingsOwner(userDto.getId(), "WAITING", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToOwner));
@@ -369,7 +511,7 @@ public class BookingServiceImplTest {
         BookingInfo bookingFromRepository = service.approvingBooking(userDto.getId(), bookingInfo1.getId(), false);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsOwner(userDto.getId(), "REJECTED", PageRequest.of(0, 10));
+                .findAllBookingsOwner(userDto.getId(), "REJECTED", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToOwner));
@@ -394,7 +536,7 @@ public class BookingServiceImplTest {
         BookingInfo bookingInfo2 = mapper.toDto(booking);
 
         List<BookingInfo> bookingsCustomer = service
-                .findAllBookingsOwner(userDto.getId(), "ALL", PageRequest.of(0, 10));
+                .findAllBookingsOwner(userDto.getId(), "ALL", null, PageRequest.of(0, 10));
 
         assertThat(repository.findAll().size(), is(allBookingsSize));
         assertThat(bookingsCustomer.size(), is(expectedSizeToOwner));
@@ -412,7 +554,7 @@ public class BookingServiceImplTest {
 
         final ValidationException exception = assertThrows(
                 ValidationException.class,
-                () -> service.findAllBookingsOwner(userDto.getId(), "MINE", PageRequest.of(0, 10)));
+                () -> service.findAllBookingsOwner(userDto.getId(), "MINE", null, PageRequest.of(0, 10)));
 
         assertThat("Unknown state: UNSUPPORTED_STATUS", is(exception.getMessage()));
     }
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking.validation;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.booking.dto.BookingPeriod;
+import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.booking.validation.BookingIntervalCache;
+import ru.practicum.exceptions.BookingOverlapException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookingIntervalCacheTest {
+    private final BookingRepository repository = mock(BookingRepository.class);
+    private final BookingIntervalCache cache = new BookingIntervalCache(repository, 10);
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    @Test
+    void hitsAreAnsweredWithoutReloading() {
+        when(repository.findApprovedPeriods(eq(1), any())).thenReturn(List.of(period(1, start, start.plusHours(2))));
+
+        assertThat(cache.overlapsApproved(1, start.plusHours(1), start.plusHours(3)), is(true));
+        assertThat(cache.overlapsApproved(1, start.plusHours(1), start.plusHours(3)), is(true));
+        assertThat(cache.overlapsApproved(1, start.plusHours(2), start.plusHours(3)), is(false));
+
+        verify(repository, times(1)).findApprovedPeriods(eq(1), any());
+    }
+
+    @Test
+    void confirmedApprovalIsCheckedWithoutReloading() {
+        when(repository.findApprovedPeriods(eq(1), any())).thenReturn(List.of());
+        BookingPeriod period = period(2, start, start.plusHours(2));
+
+        cache.reserve(1, period);
+        cache.confirm(1, period);
+
+        assertThrows(BookingOverlapException.class,
+                () -> cache.reserve(1, period(3, start.plusHours(1), start.plusHours(3))));
+        verify(repository, times(1)).findApprovedPeriods(eq(1), any());
+    }
+
+    @Test
+    void clearLoadsAgainOnTheNextUse() {
+        when(repository.findApprovedPeriods(eq(1), any()))
+                .thenReturn(List.of(period(1, start, start.plusHours(2))))
+                .thenReturn(List.of());
+
+        assertThat(cache.overlapsApproved(1, start, start.plusHours(1)), is(true));
+        cache.clear();
+
+        assertThat(cache.overlapsApproved(1, start, start.plusHours(1)), is(false));
+        verify(repository, times(2)).findApprovedPeriods(eq(1), any());
+    }
+
+    private BookingPeriod period(Integer id, LocalDateTime start, LocalDateTime end) {
+        return BookingPeriod.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
@@ -7,10 +7,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.constants.BookingRole;
 import ru.practicum.booking.constants.BookingStatus;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.booking.service.BookingService;
 import ru.practicum.booking.validation.BookingValidation;
 import ru.practicum.exceptions.*;
 import ru.practicum.item.model.Item;
@@ -21,6 +23,7 @@ import ru.practicum.user.repository.UserRepository;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @AutoConfigureTestDatabase
 public class BookingValidationImplTest {
     private final BookingValidation validation;
+    private final BookingService bookingService;
     private final BookingRepository repository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
@@ -167,44 +171,65 @@ public class BookingValidationImplTest {
     }
 
     @Test
-    void verifyCheckIfStatusAlreadyApprovedOwnerException() {
+    void verifyCheckItemDataOverlapException() {
+        User userToSave = makeUser("Bond", "mymail@mail.com");
+        User newUser = userRepository.save(userToSave);
+        bookingService.approvingBooking(user.getId(), booking.getId(), true);
+        Booking newBooking = makeBooking(item,
+                booking.getStart().plusMinutes(30), booking.getEnd().plusMinutes(30), newUser);
+        BookingDto bookingDto = makeBookingDto(newBooking);
+
+        final BookingOverlapException exception = assertThrows(
+                BookingOverlapException.class, () -> validation.checkItemData(newUser, bookingDto));
+
+        assertThat("The ru.practicum.item is already booked for the requested time", is(exception.getMessage()));
+    }
+
+    @Test
+    void verifyStatusChangeFailureOwnerException() {
         assertThat(repository.findAll(), notNullValue());
 
         User userToSave = makeUser("Bond", "mymail@mail.com");
         User notAOwner = userRepository.save(userToSave);
 
-        final WrongOwnerOfItemException exception = assertThrows(
-                WrongOwnerOfItemException.class,
-                () -> validation.checkIfStatusAlreadyApproved(notAOwner.getId(), booking.getId(), true));
+        RuntimeException exception = validation.statusChangeFailure(notAOwner.getId(), booking.getId(), BookingRole.OWNER);
+
+        assertThat(exception, instanceOf(BookingAccessDeniedException.class));
+        assertThat("Only the owner of the ru.practicum.item can approve or reject the ru.practicum.booking",
+                is(exception.getMessage()));
+    }
+
+    @Test
+    void verifyStatusChangeFailureBookerException() {
+        User userToSave = makeUser("Bond", "mymail@mail.com");
+        User notABooker = userRepository.save(userToSave);
 
-        assertThat("The wrong owner of ru.practicum.item", is(exception.getMessage()));
+        RuntimeException exception = validation.statusChangeFailure(notABooker.getId(), booking.getId(), BookingRole.BOOKER);
+
+        assertThat(exception, instanceOf(BookingAccessDeniedException.class));
+        assertThat("Only the booker can cancel the ru.practicum.booking", is(exception.getMessage()));
     }
 
     @Test
-    void verifyCheckIfStatusAlreadyApprovedBookingException() {
+    void verifyStatusChangeFailureBookingException() {
         assertThat(repository.findAll(), notNullValue());
 
-        Booking newBooking = makeBooking(item, LocalDateTime.now(), LocalDateTime.now().plusHours(1), user);
-        newBooking.setId(100);
-
         final BookingNotFoundException exception = assertThrows(
                 BookingNotFoundException.class,
-                () -> validation.checkIfStatusAlreadyApproved(user.getId(), newBooking.getId(), true));
+                () -> validation.statusChangeFailure(user.getId(), 100, BookingRole.OWNER));
 
         assertThat("The ru.practicum.booking with the id doesn't exist", is(exception.getMessage()));
     }
 
     @Test
-    void verifyCheckIfStatusAlreadyApprovedAlreadyException() {
-        assertThat(repository.findAll(), notNullValue());
+    void verifyStatusChangeFailureAlreadyException() {
+        booking.setStatus(BookingStatus.REJECTED);
+        repository.saveAndFlush(booking);
 
-        booking.setStatus(BookingStatus.APPROVED);
-
-        final ValidationException exception = assertThrows(
-                ValidationException.class,
-                () -> validation.checkIfStatusAlreadyApproved(user.getId(), booking.getId(), true));
+        RuntimeException exception = validation.statusChangeFailure(user.getId(), booking.getId(), BookingRole.OWNER);
 
-        assertThat("The status of ru.practicum.booking is already approved", is(exception.getMessage()));
+        assertThat(exception, instanceOf(BookingStatusConflictException.class));
+        assertThat("The status of ru.practicum.booking is already rejected", is(exception.getMessage()));
     }
 
     private BookingDto makeBookingDto(Booking booking) {
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.dto.BookingDto;
+import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.service.BookingService;
+import ru.practicum.cache.CacheNames;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.service.ItemService;
+import ru.practicum.user.dto.UserDto;
+import ru.practicum.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@AutoConfigureTestDatabase
+public class CacheInvalidatorTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final CacheManager cacheManager;
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.createUser(UserDto.builder().name("Owner").email("owner@mail.com").build());
+        booker = userService.createUser(UserDto.builder().name("Booker").email("booker@mail.com").build());
+        item = itemService.createItem(owner.getId(), ItemDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build());
+    }
+
+    @Test
+    void findUserIsCachedAndEvictedOnUpdate() {
+        userService.findUser(owner.getId());
+
+        assertThat(cacheManager.getCache(CacheNames.FIND_USER).get(owner.getId()), notNullValue());
+
+        userService.updateUser(owner.getId(), UserDto.builder().name("Renamed").build());
+
+        assertThat(cacheManager.getCache(CacheNames.FIND_USER).get(owner.getId()), nullValue());
+        assertThat(userService.findUser(owner.getId()).getName(), is("Renamed"));
+    }
+
+    @Test
+    void findItemIsEvictedOnUpdate() {
+        itemService.findItem(booker.getId(), item.getId());
+
+        itemService.updateItem(owner.getId(), item.getId(), ItemDto.builder().name("Hammer drill").build());
+
+        assertThat(itemService.findItem(booker.getId(), item.getId()).getName(), is("Hammer drill"));
+        assertThat(itemService.searchItemForRent("hammer", PageRequest.of(0, 10)), hasSize(1));
+    }
+
+    @Test
+    void bookingListsAreEvictedOnApproval() {
+        BookingInfo booking = bookingService.createBooking(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        bookingService.findAllBookingsCustomer(booker.getId(), "ALL", null, PageRequest.of(0, 10));
+        bookingService.findAllBookingsOwner(owner.getId(), "ALL", null, PageRequest.of(0, 10));
+        bookingService.findBooking(booker.getId(), booking.getId());
+
+        bookingService.approvingBooking(owner.getId(), booking.getId(), true);
+
+        List<BookingInfo> customerBookings = bookingService
+                .findAllBookingsCustomer(booker.getId(), "ALL", null, PageRequest.of(0, 10));
+        List<BookingInfo> ownerBookings = bookingService
+                .findAllBookingsOwner(owner.getId(), "ALL", null, PageRequest.of(0, 10));
+        assertThat(customerBookings.get(0).getStatus(), is(BookingStatus.APPROVED));
+        assertThat(ownerBookings.get(0).getStatus(), is(BookingStatus.APPROVED));
+        assertThat(bookingService.findBooking(booker.getId(), booking.getId()).getStatus(),
+                is(BookingStatus.APPROVED));
+    }
+}
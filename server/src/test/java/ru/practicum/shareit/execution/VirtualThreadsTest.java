@@ -0,0 +1,35 @@
+package ru.practicum.shareit.execution;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.execution.VirtualThreads;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void verifySupportFollowsTheRuntimeVersion() {
+        assertThat(VirtualThreads.isSupported(), is(Runtime.version().feature() >= 21));
+    }
+
+    @Test
+    public void verifyNewExecutorRunsTasksOrExplainsTheMissingRuntime() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            IllegalStateException exception = assertThrows(IllegalStateException.class, VirtualThreads::newExecutor);
+            assertThat(exception.getMessage(), containsString("Java 21"));
+            return;
+        }
+        ExecutorService executor = VirtualThreads.newExecutor();
+        try {
+            String threadName = executor.submit(() -> Thread.currentThread().toString()).get(5, TimeUnit.SECONDS);
+            assertThat(threadName, startsWith("VirtualThread"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
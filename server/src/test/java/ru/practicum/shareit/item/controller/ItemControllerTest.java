@@ -6,15 +6,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.comments.dto.CommentDto;
+import ru.practicum.export.ExportFormat;
 import ru.practicum.item.controller.ItemController;
 import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.ItemImportError;
+import ru.practicum.item.dto.ItemImportReport;
 import ru.practicum.item.dto.ItemInfo;
 import ru.practicum.item.service.ItemService;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -70,6 +77,67 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(itemDto1.getAvailable())));
     }
 
+    @Test
+    void importItems() throws Exception {
+        ItemImportReport report = ItemImportReport.builder()
+                .imported(1)
+                .failed(1)
+                .errors(List.of(ItemImportError.builder().index(1).error("The field of name is empty").build()))
+                .build();
+
+        when(service.importItems(anyInt(), any(InputStream.class)))
+                .thenReturn(report);
+
+        mvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1)
+                        .content(mapper.writeValueAsString(itemDto1) + "\n" + mapper.writeValueAsString(itemDto2))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)));
+    }
+
+    @Test
+    void exportItems() throws Exception {
+        StreamingResponseBody body = output -> output.write(
+                (mapper.writeValueAsString(itemDto1) + "\n").getBytes(StandardCharsets.UTF_8));
+        when(service.exportItems(anyInt(), eq(ExportFormat.NDJSON)))
+                .thenReturn(body);
+
+        MvcResult result = mvc.perform(get("/items/export")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(mapper.writeValueAsString(itemDto1) + "\n"));
+    }
+
+    @Test
+    void exportItemsInUnknownFormat() throws Exception {
+        mvc.perform(get("/items/comments/export")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Unknown format: xml")));
+    }
+
+    @Test
+    void exportItemsWhenTooManyAreRunning() throws Exception {
+        when(service.exportItems(anyInt(), any(ExportFormat.class)))
+                .thenThrow(new TaskRejectedException("Executor did not accept task"));
+
+        mvc.perform(get("/items/export")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error", is("Too many exports are running, try again later")));
+    }
+
     @Test
     void updateItem() throws Exception {
         when(service.updateItem(anyInt(), anyInt(), any(ItemDto.class)))
@@ -227,6 +227,29 @@ public class ItemRepositoryTest {
         assertThat(item2.getOwner(), sameInstance(itemsFromRepository.get(0).getOwner()));
     }
 
+    @Test
+    void verifySearchItemByInputSkipsUnavailableItems() {
+        Item available = repository.save(Item
+                .builder()
+                .name("Drill")
+                .description("Cordless")
+                .available(true)
+                .owner(user1)
+                .build());
+        repository.save(Item
+                .builder()
+                .name("Old drill")
+                .description("Broken")
+                .available(false)
+                .owner(user1)
+                .build());
+
+        List<Item> itemsFromRepository = repository.searchItemByInput("drill", PageRequest.of(0, 10));
+
+        assertThat(itemsFromRepository.size(), equalTo(1));
+        assertThat(itemsFromRepository.get(0).getId(), equalTo(available.getId()));
+    }
+
     @Test
     void verifyFindAllByOwner() {
         Integer expectedSize = 2;
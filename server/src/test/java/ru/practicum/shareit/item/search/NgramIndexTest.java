@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.search.NgramIndex;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class NgramIndexTest {
+    private NgramIndex index;
+
+    @BeforeEach
+    public void beforeEach() {
+        index = new NgramIndex();
+        index.put(1, item(1, "Drill", "Cordless power drill", true));
+        index.put(1, item(2, "Saw", "Hand saw for wood", true));
+        index.put(2, item(3, "Ladder", "Folding ladder", false));
+        index.put(2, item(4, "Hammer drill", "Heavy DRILL with case", true));
+    }
+
+    @Test
+    public void verifySearchMatchesSubstringsIgnoringCase() {
+        assertThat(ids(index.search("DRIL", 0, 10)), contains(1, 4));
+        assertThat(ids(index.search("wood", 0, 10)), contains(2));
+        assertThat(ids(index.search("woodwork", 0, 10)), empty());
+    }
+
+    @Test
+    public void verifySearchSkipsUnavailableItems() {
+        assertThat(ids(index.search("ladder", 0, 10)), empty());
+    }
+
+    @Test
+    public void verifyPutReindexesUpdatedItem() {
+        index.put(2, item(3, "Ladder", "Folding ladder", true));
+        index.put(1, item(2, "Jigsaw", "Electric", true));
+
+        assertThat(ids(index.search("ladder", 0, 10)), contains(3));
+        assertThat(ids(index.search("wood", 0, 10)), empty());
+        assertThat(ids(index.search("electric", 0, 10)), contains(2));
+        assertThat(index.size(), is(4));
+    }
+
+    @Test
+    public void verifyRemoveOwnerDropsAllOwnerItems() {
+        index.removeOwner(1);
+
+        assertThat(ids(index.search("drill", 0, 10)), contains(4));
+        assertThat(index.size(), is(2));
+    }
+
+    @Test
+    public void verifyShortQueryScansAllItems() {
+        assertThat(ids(index.search("dr", 0, 10)), contains(1, 4));
+    }
+
+    @Test
+    public void verifySearchAppliesOffsetAndLimit() {
+        assertThat(ids(index.search("a", 1, 1)), contains(4));
+        assertThat(ids(index.search("a", 2, 10)), empty());
+    }
+
+    private static ItemDto item(Integer id, String name, String description, boolean available) {
+        return new ItemDto(id, name, description, available, null);
+    }
+
+    private static List<Integer> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
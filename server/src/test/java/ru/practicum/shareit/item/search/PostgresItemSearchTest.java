@@ -0,0 +1,166 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.booking.constants.BookingStatus;
+import ru.practicum.booking.model.Booking;
+import ru.practicum.booking.repository.BookingRepository;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.model.Item;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.search.ItemSearch;
+import ru.practicum.item.search.PostgresItemSearch;
+import ru.practicum.user.model.User;
+import ru.practicum.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// the postgres engine and the V3 migration are PostgreSQL only, so they run against a real one; skipped without Docker
+@Transactional
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class PostgresItemSearchTest {
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:13.7-alpine");
+
+    private final ItemSearch itemSearch;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private User owner;
+    private Item drill;
+    private Item hammer;
+    private Item saw;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", postgres::getDriverClassName);
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration/common,classpath:db/migration/{vendor}");
+        registry.add("shareit.schema.migrate", () -> "true");
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.saveAndFlush(User.builder()
+                .name("Bond")
+                .email("bond@mail.com")
+                .build());
+        drill = itemRepository.saveAndFlush(item("Drill", "Cordless, two batteries", true));
+        hammer = itemRepository.saveAndFlush(item("Hammer", "Heavy, fits a drill bit holder", true));
+        saw = itemRepository.saveAndFlush(item("Saw", "Hand saw for wood", true));
+        itemRepository.saveAndFlush(item("Drill press", "Bench drill", false));
+    }
+
+    @Test
+    void postgresIsTheDefaultEngineOnPostgresql() {
+        assertThat(itemSearch, instanceOf(PostgresItemSearch.class));
+    }
+
+    @Test
+    void migrationAddsTheGeneratedColumns() {
+        assertThat(column("items", "search_vector"), is("tsvector"));
+        assertThat(column("bookings", "period"), is("tsrange"));
+    }
+
+    @Test
+    void migrationAddsTheSearchIndexesAndTheOverlapConstraint() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select indexname from pg_indexes where tablename = 'items'", String.class);
+        Integer constraints = jdbcTemplate.queryForObject(
+                "select count(*) from pg_constraint where conname = 'ex_bookings_approved_overlap' and contype = 'x'",
+                Integer.class);
+
+        assertThat(indexes, hasItems("idx_items_search_vector", "idx_items_name_trgm", "idx_items_description_trgm"));
+        assertThat(constraints, is(1));
+    }
+
+    @Test
+    void searchFindsWholeWordsAndRanksNameHitsFirst() {
+        assertThat(ids(itemSearch.search("drill", PageRequest.of(0, 10))), contains(drill.getId(), hammer.getId()));
+        assertThat(ids(itemSearch.search("WOOD", PageRequest.of(0, 10))), contains(saw.getId()));
+    }
+
+    @Test
+    void searchFindsPartOfAWord() {
+        assertThat(ids(itemSearch.search("amme", PageRequest.of(0, 10))), contains(hammer.getId()));
+        assertThat(ids(itemSearch.search("50%", PageRequest.of(0, 10))), empty());
+    }
+
+    @Test
+    void searchSkipsUnavailableItems() {
+        assertThat(ids(itemSearch.search("press", PageRequest.of(0, 10))), empty());
+    }
+
+    @Test
+    void searchPagesByTheOffset() {
+        assertThat(ids(itemSearch.search("drill", PageRequest.of(1, 1))), contains(hammer.getId()));
+        assertThat(ids(itemSearch.search("drill", PageRequest.of(2, 1))), empty());
+    }
+
+    @Test
+    void overlappingApprovedBookingsAreRejected() {
+        User booker = userRepository.saveAndFlush(User.builder()
+                .name("James")
+                .email("james@mail.com")
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingRepository.saveAndFlush(booking(booker, start, start.plusHours(2), BookingStatus.APPROVED));
+        bookingRepository.saveAndFlush(booking(booker, start.plusHours(1), start.plusHours(3), BookingStatus.WAITING));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingRepository.saveAndFlush(
+                booking(booker, start.plusHours(1), start.plusHours(3), BookingStatus.APPROVED)));
+    }
+
+    private String column(String table, String column) {
+        return jdbcTemplate.queryForObject("select udt_name from information_schema.columns " +
+                "where table_name = ? and column_name = ?", String.class, table, column);
+    }
+
+    private Item item(String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+
+    private Booking booking(User booker, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder()
+                .item(drill)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+
+    private List<Integer> ids(List<ItemDto> items) {
+        return items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,32 +1,58 @@
 package ru.practicum.shareit.item.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.booking.dto.BookingDto;
 import ru.practicum.booking.dto.BookingInfo;
 import ru.practicum.booking.service.BookingService;
+import ru.practicum.cache.CacheInvalidator;
 import ru.practicum.comments.dto.CommentDto;
 import ru.practicum.comments.model.Comment;
+import ru.practicum.export.ExportFormat;
 import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.dto.ItemImportError;
+import ru.practicum.item.dto.ItemImportReport;
 import ru.practicum.item.mapper.ItemMapper;
 import ru.practicum.item.model.Item;
+import ru.practicum.item.repository.ItemRepository;
+import ru.practicum.item.search.ItemSearch;
+import ru.practicum.item.service.ItemImporter;
 import ru.practicum.item.service.ItemService;
+import ru.practicum.request.dto.ItemRequestDto;
+import ru.practicum.request.repository.RequestRepository;
+import ru.practicum.request.service.RequestService;
 import ru.practicum.user.dto.UserDto;
+import ru.practicum.user.repository.UserRepository;
 import ru.practicum.user.service.UserService;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @Transactional
 @SpringBootTest
@@ -37,6 +63,14 @@ public class ItemServiceImplIT {
     private final ItemMapper mapper;
     private final UserService userService;
     private final BookingService bookingService;
+    private final RequestService requestService;
+    private final ObjectMapper objectMapper;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final UserRepository userRepository;
+    private final ItemSearch itemSearch;
+    private final CacheInvalidator cacheInvalidator;
+    private final TransactionTemplate transactions;
     private UserDto user1;
     private UserDto user2;
     private UserDto user3;
@@ -66,6 +100,122 @@ public class ItemServiceImplIT {
         user3 = userService.createUser(userToSave3);
     }
 
+    @Test
+    void importItemsFromNdjsonTest() {
+        ItemRequestDto request = requestService.createItemRequest(user2.getId(), ItemRequestDto.builder()
+                .description("I need a ladder")
+                .build());
+        String body = String.join("\n",
+                "{\"name\": \"Drill\", \"description\": \"Cordless drill\", \"available\": true}",
+                "{\"description\": \"Nameless\", \"available\": true}",
+                "{\"name\": \"Ladder\", \"description\": \"Three steps\", \"available\": true, "
+                        + "\"requestId\": " + request.getId() + "}",
+                "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": true, \"requestId\": 100000}");
+
+        ItemImportReport report = service.importItems(user1.getId(), stream(body));
+
+        assertThat(report.getImported(), equalTo(2));
+        assertThat(report.getFailed(), equalTo(2));
+        assertThat(report.getErrors().stream().map(ItemImportError::getIndex).collect(Collectors.toList()),
+                contains(1, 3));
+        List<Item> items = entityManager
+                .createQuery("select i from Item i where i.owner.id = :ownerId order by i.id", Item.class)
+                .setParameter("ownerId", user1.getId())
+                .getResultList();
+        assertThat(items.stream().map(Item::getName).collect(Collectors.toList()), contains("Drill", "Ladder"));
+        assertThat(items.get(1).getRequest().getId(), equalTo(request.getId()));
+    }
+
+    @Test
+    void importItemsFromNdjsonGoesOnAfterMalformedLineTest() {
+        String body = String.join("\n",
+                "{\"name\": \"Drill\", \"description\": \"Cordless drill\", \"available\": true}",
+                "{\"name\": \"Saw\", \"description\": ",
+                "",
+                "{\"name\": \"Ladder\", \"description\": \"Three steps\", \"available\": true}");
+
+        ItemImportReport report = service.importItems(user1.getId(), stream(body));
+
+        assertThat(report.getImported(), equalTo(2));
+        assertThat(report.getFailed(), equalTo(1));
+        assertThat(report.getErrors().get(0).getIndex(), equalTo(1));
+        assertThat(report.getErrors().get(0).getError(), containsString("not a valid item"));
+    }
+
+    @Test
+    void importItemsFromJsonArrayStopsAtMalformedEntryTest() {
+        String body = "[{\"name\": \"Drill\", \"description\": \"Cordless drill\", \"available\": true}, "
+                + "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": true}, "
+                + "{\"name\": ";
+
+        ItemImportReport report = service.importItems(user1.getId(), stream(body));
+
+        assertThat(report.getImported(), equalTo(2));
+        assertThat(report.getFailed(), equalTo(1));
+        assertThat(report.getErrors().get(0).getIndex(), equalTo(2));
+        assertThat(report.getErrors().get(0).getError(), containsString("the import stopped here"));
+    }
+
+    @Test
+    void importItemsLongerThanTheColumnsTest() {
+        String body = String.join("\n",
+                "{\"name\": \"" + "n".repeat(201) + "\", \"description\": \"Long name\", \"available\": true}",
+                "{\"name\": \"Drill\", \"description\": \"" + "d".repeat(501) + "\", \"available\": true}",
+                "{\"name\": \"" + "n".repeat(200) + "\", \"description\": \"" + "d".repeat(500)
+                        + "\", \"available\": true}");
+
+        ItemImportReport report = service.importItems(user1.getId(), stream(body));
+
+        assertThat(report.getImported(), equalTo(1));
+        assertThat(report.getErrors().stream().map(ItemImportError::getError).collect(Collectors.toList()),
+                contains("The field of name is longer than 200 characters",
+                        "The field of description is longer than 500 characters"));
+    }
+
+    @Test
+    void importItemsGoesOnAfterAFailedChunkTest() {
+        ItemRepository failingOnce = mock(ItemRepository.class);
+        when(failingOnce.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenAnswer(invocation -> itemRepository.saveAll(invocation.<List<Item>>getArgument(0)));
+        ItemImporter importer = new ItemImporter(objectMapper, failingOnce, requestRepository, mapper, itemSearch,
+                cacheInvalidator, entityManager, transactions, 2);
+        // the owner has to be in the database before the failed chunk clears the persistence context
+        entityManager.flush();
+        String body = String.join("\n",
+                "{\"name\": \"Drill\", \"description\": \"Cordless drill\", \"available\": true}",
+                "{\"name\": \"Saw\", \"description\": \"Hand saw\", \"available\": true}",
+                "{\"name\": \"Ladder\", \"description\": \"Three steps\", \"available\": true}");
+
+        ItemImportReport report = importer.importItems(userRepository.getReferenceById(user1.getId()), stream(body));
+
+        assertThat(report.getImported(), equalTo(1));
+        assertThat(report.getFailed(), equalTo(2));
+        assertThat(report.getErrors().stream().map(ItemImportError::getIndex).collect(Collectors.toList()),
+                contains(0, 1));
+        assertThat(report.getErrors().get(0).getError(), containsString("its chunk was rolled back"));
+        assertThat(itemRepository.findAll().stream().map(Item::getName).collect(Collectors.toList()),
+                contains("Ladder"));
+    }
+
+    @Test
+    void importItemsSkipsAChunkWithNoValidItemTest() {
+        ItemRepository repository = mock(ItemRepository.class);
+        CacheInvalidator invalidator = mock(CacheInvalidator.class);
+        ItemImporter importer = new ItemImporter(objectMapper, repository, requestRepository, mapper, itemSearch,
+                invalidator, entityManager, transactions, 2);
+        String body = String.join("\n",
+                "{\"description\": \"Nameless\", \"available\": true}",
+                "{\"name\": \"Saw\", \"available\": true}",
+                "{\"name\": \"Ladder\", \"description\": \"Three steps\", \"available\": true}");
+
+        ItemImportReport report = importer.importItems(userRepository.getReferenceById(user1.getId()), stream(body));
+
+        assertThat(report.getFailed(), equalTo(2));
+        verify(repository, times(1)).saveAll(anyList());
+        verify(invalidator, times(1)).itemsImported(anyInt(), anyCollection());
+    }
+
     @Test
     void createItemTest() {
         ItemDto itemDto = makeItemDto("Item1", "For something", true);
@@ -158,6 +308,42 @@ public class ItemServiceImplIT {
         assertThat(commentDto.getAuthorName(), equalTo(comment.getAuthor().getName()));
     }
 
+    @Test
+    void exportItemsAsNdjsonTest() throws IOException {
+        ItemDto drill = service.createItem(user1.getId(), makeItemDto("Drill", "Cordless drill", true));
+        ItemDto saw = service.createItem(user1.getId(), makeItemDto("Saw", "Hand saw", false));
+        service.createItem(user2.getId(), makeItemDto("Ladder", "Three steps", true));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.exportItems(user1.getId(), ExportFormat.NDJSON).writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length, equalTo(2));
+        assertThat(objectMapper.readValue(lines[0], ItemDto.class), equalTo(drill));
+        assertThat(objectMapper.readValue(lines[1], ItemDto.class), equalTo(saw));
+        assertThat(output.toString(StandardCharsets.UTF_8), equalTo(
+                objectMapper.writeValueAsString(drill) + "\n" + objectMapper.writeValueAsString(saw) + "\n"));
+    }
+
+    @Test
+    void exportCommentsAsCsvTest() throws IOException {
+        ItemDto item = service.createItem(user1.getId(), makeItemDto("Item1", "For something", true));
+        BookingInfo booking = bookingService.createBooking(user2.getId(), makeBookingDto(item.getId(),
+                LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().minusMinutes(30)));
+        bookingService.approvingBooking(user1.getId(), booking.getId(), true);
+        CommentDto comment = service.addComment(user2.getId(), item.getId(),
+                makeCommentDto("Sturdy, and \"light\"", user2.getName()));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.exportComments(user1.getId(), ExportFormat.CSV).writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines.length, equalTo(2));
+        assertThat(lines[0], equalTo("id,itemId,text,authorName,created"));
+        assertThat(lines[1], startsWith(comment.getId() + "," + item.getId() + ",\"Sturdy, and \"\"light\"\"\",James,"));
+    }
+
     private BookingDto makeBookingDto(Integer itemId, LocalDateTime start, LocalDateTime end) {
         BookingDto.BookingDtoBuilder builder = BookingDto.builder();
 
@@ -186,4 +372,8 @@ public class ItemServiceImplIT {
 
         return builder.build();
     }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,7 @@ import ru.practicum.booking.constants.BookingStatus;
 import ru.practicum.booking.model.Booking;
 import ru.practicum.booking.repository.BookingRepository;
 import ru.practicum.comments.dto.CommentDto;
+import ru.practicum.comments.model.Comment;
 import ru.practicum.comments.repository.CommentsRepository;
 import ru.practicum.item.dto.ItemDto;
 import ru.practicum.item.dto.ItemInfo;
@@ -26,6 +29,8 @@ import ru.practicum.user.mapper.UserMapper;
 import ru.practicum.user.model.User;
 import ru.practicum.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -45,6 +50,8 @@ public class ItemServiceImplTest {
     private final RequestRepository requestRepository;
     private final ItemMapper mapper;
     private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
     private Item item;
     private ItemDto itemDto;
     private UserDto userDto;
@@ -235,6 +242,44 @@ public class ItemServiceImplTest {
         assertThat(items.get(0).getNextBooking(), nullValue());
     }
 
+    @Test
+    void findAllItemsByUserStatementCountTest() {
+        Integer expectedSize = 20;
+        Long expectedStatements = 4L;
+
+        for (int i = 1; i < expectedSize; i++) {
+            Item itemToSave = repository.save(makeItem("Item" + i, "For something", true, user));
+            Booking pastBooking = makeBooking(itemToSave, booker);
+            pastBooking.setStatus(BookingStatus.APPROVED);
+            pastBooking.setStart(LocalDateTime.now().minusDays(2));
+            pastBooking.setEnd(LocalDateTime.now().minusDays(1));
+            bookingRepository.save(pastBooking);
+            bookingRepository.save(makeBooking(itemToSave, booker));
+            commentsRepository.save(Comment.builder()
+                    .text("Thanks a lot")
+                    .item(itemToSave)
+                    .author(booker)
+                    .created(LocalDateTime.now())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<ItemInfo> items = service.findAllItemsByUser(userDto.getId(), PageRequest.of(0, 50));
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        assertThat(items.size(), is(expectedSize));
+        assertThat(statements, lessThanOrEqualTo(expectedStatements));
+        assertThat(items.get(1).getComments().size(), is(1));
+        assertThat(items.get(1).getLastBooking(), notNullValue());
+        assertThat(items.get(1).getNextBooking(), notNullValue());
+        assertThat(items.get(1).getLastBooking().getBookerId(), is(booker.getId()));
+    }
+
     @Test
     void findItemByBookerTest() {
         assertThat(repository.findAll(), notNullValue());
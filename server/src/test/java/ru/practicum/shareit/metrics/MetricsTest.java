@@ -0,0 +1,114 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.dto.BookingDto;
+import ru.practicum.booking.service.BookingService;
+import ru.practicum.cache.CacheNames;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.service.ItemService;
+import ru.practicum.metrics.RepositoryMetricsInterceptor;
+import ru.practicum.user.dto.UserDto;
+import ru.practicum.user.service.UserService;
+import ru.practicum.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@AutoConfigureTestDatabase
+public class MetricsTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final MeterRegistry registry;
+    private UserDto owner;
+    private UserDto booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.createUser(UserDto.builder().name("Meter owner").email("meter-owner@mail.com").build());
+        booker = userService.createUser(UserDto.builder().name("Meter booker").email("meter-booker@mail.com").build());
+        ItemDto item = itemService.createItem(owner.getId(), ItemDto.builder()
+                .name("Metered saw")
+                .description("Saw for the metrics test")
+                .available(true)
+                .build());
+        bookingService.createBooking(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+    }
+
+    @Test
+    void bookingQueriesAreTimedByRoleAndState() {
+        long before = bookingQueries("OWNER", "WAITING");
+
+        bookingService.findAllBookingsOwner(owner.getId(), "WAITING", null, PageRequest.of(0, 10));
+
+        assertThat(bookingQueries("OWNER", "WAITING"), is(before + 1));
+    }
+
+    @Test
+    void repositoryRowsAreRecorded() {
+        bookingService.findAllBookingsCustomer(booker.getId(), "FUTURE", null, PageRequest.of(0, 10));
+
+        DistributionSummary rows = registry.find(RepositoryMetricsInterceptor.ROWS)
+                .tags("repository", "BookingRepository", "method", "findAllBy")
+                .summary();
+        assertThat(rows, notNullValue());
+        assertThat(rows.max(), greaterThanOrEqualTo(1.0));
+    }
+
+    @Test
+    void serviceMethodsAreTimed() {
+        userService.findAllUsers();
+
+        Timer timer = registry.find("shareit.service")
+                .tags("class", UserServiceImpl.class.getName(), "method", "findAllUsers")
+                .timer();
+        assertThat(timer, notNullValue());
+        assertThat(timer.count(), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    void cacheHitsAndMissesAreCounted() {
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        userService.findUser(owner.getId());
+        userService.findUser(owner.getId());
+
+        assertThat(cacheGets("miss"), is(misses + 1));
+        assertThat(cacheGets("hit"), is(hits + 1));
+    }
+
+    private long bookingQueries(String role, String state) {
+        Timer timer = registry.find(RepositoryMetricsInterceptor.BOOKING_QUERIES)
+                .tags("role", role, "state", state)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double cacheGets(String result) {
+        FunctionCounter counter = registry.find("cache.gets")
+                .tags("cache", CacheNames.FIND_USER, "result", result)
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.request.controller.ItemRequestController;
 import ru.practicum.request.dto.ItemRequestDto;
 import ru.practicum.request.dto.ItemRequestInfo;
+import ru.practicum.request.dto.RequestCursor;
 import ru.practicum.request.service.RequestService;
 
 import java.nio.charset.StandardCharsets;
@@ -20,9 +21,11 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -89,7 +92,7 @@ public class ItemRequestControllerTest {
     void findAllItemRequests() throws Exception {
         Integer expectedSize = 3;
 
-        when(service.findAllItemRequests(anyInt(), any(Pageable.class)))
+        when(service.findAllItemRequests(anyInt(), isNull(), isNull(), any(Pageable.class)))
                 .thenReturn(List.of(requestInfo1, requestInfo2, requestInfo3));
 
         mvc.perform(get("/requests/all")
@@ -106,6 +109,20 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.[2].created", is(requestInfo3.getCreated())));
     }
 
+    @Test
+    void findAllItemRequestsFullPageHasNextCursor() throws Exception {
+        when(service.findAllItemRequests(anyInt(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(requestInfo1, requestInfo2));
+
+        mvc.perform(get("/requests/all?size=2")
+                        .header("X-Sharer-User-Id", 1)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ItemRequestController.NEXT_CURSOR_HEADER,
+                        RequestCursor.after(requestInfo2).encode()));
+    }
+
     @Test
     void findItemRequest() throws Exception {
         when(service.findItemRequest(anyInt(), any()))
@@ -136,7 +136,7 @@ public class RequestRepositoryTest {
     @Test
     void verifyFindRequestsByRequestor() {
         Integer expectedSize = 2;
-        Integer expectedUserId = 1;
+        Integer expectedUserId = user1.getId();
 
         ItemRequest request1 = ItemRequest
                 .builder()
@@ -170,7 +170,7 @@ public class RequestRepositoryTest {
     @Test
     void verifyFindRequestsExceptRequestor() {
         Integer expectedSize = 1;
-        Integer expectedUserId = 1;
+        Integer expectedUserId = user1.getId();
 
         ItemRequest request1 = ItemRequest
                 .builder()
@@ -209,7 +209,7 @@ public class RequestRepositoryTest {
     }
 
     private void resetIdColumns() {
-        entityManager.getEntityManager().createNativeQuery("ALTER TABLE requests ALTER COLUMN id RESTART WITH 1").executeUpdate();
-        entityManager.getEntityManager().createNativeQuery("ALTER TABLE users ALTER COLUMN id RESTART WITH 1").executeUpdate();
+        entityManager.getEntityManager().createNativeQuery("ALTER SEQUENCE requests_seq RESTART WITH 1").executeUpdate();
+        entityManager.getEntityManager().createNativeQuery("ALTER SEQUENCE users_seq RESTART WITH 1").executeUpdate();
     }
 }
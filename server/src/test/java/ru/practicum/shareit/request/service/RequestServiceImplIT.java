@@ -78,7 +78,7 @@ public class RequestServiceImplIT {
     void findAllItemRequestsTest() {
         Integer expectedSize = 3;
 
-        assertThat(service.findAllItemRequests(user1.getId(), PageRequest.of(0,10)), empty());
+        assertThat(service.findAllItemRequests(user1.getId(), null, null, PageRequest.of(0,10)), empty());
 
         ItemRequestDto requestDto1 = makeRequestDto("I need a hammer");
         ItemRequestDto requestDto2 = makeRequestDto("I need a screw driver");
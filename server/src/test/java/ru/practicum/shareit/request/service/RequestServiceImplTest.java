@@ -9,10 +9,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.exceptions.RequestNotFoundException;
+import ru.practicum.exceptions.ValidationException;
 import ru.practicum.item.model.Item;
 import ru.practicum.item.repository.ItemRepository;
 import ru.practicum.request.dto.ItemRequestDto;
 import ru.practicum.request.dto.ItemRequestInfo;
+import ru.practicum.request.dto.RequestCursor;
 import ru.practicum.request.mapper.RequestMapper;
 import ru.practicum.request.model.ItemRequest;
 import ru.practicum.request.repository.RequestRepository;
@@ -24,6 +26,7 @@ import ru.practicum.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -103,7 +106,7 @@ public class RequestServiceImplTest {
         User user = userRepository.save(userToSave);
         UserDto userDto = userMapper.toDto(user);
 
-        List<ItemRequestInfo> allRequests = service.findAllItemRequests(userDto.getId(), PageRequest.of(0,10));
+        List<ItemRequestInfo> allRequests = service.findAllItemRequests(userDto.getId(), null, null, PageRequest.of(0,10));
 
         assertThat(allRequests.size(), is(expectedSize));
         assertThat(requestDto.getId(), is(allRequests.get(0).getId()));
@@ -124,7 +127,7 @@ public class RequestServiceImplTest {
         Item item = makeItem("A hammer", "For something", true, user, request);
         itemRepository.save(item);
 
-        List<ItemRequestInfo> allRequests = service.findAllItemRequests(userDto.getId(), PageRequest.of(0,10));
+        List<ItemRequestInfo> allRequests = service.findAllItemRequests(userDto.getId(), null, null, PageRequest.of(0,10));
 
         assertThat(allRequests.size(), is(expectedSize));
         assertThat(requestDto.getId(), is(allRequests.get(0).getId()));
@@ -180,6 +183,53 @@ public class RequestServiceImplTest {
         assertThat("The ru.practicum.item ru.practicum.request doesn't exist", is(exception.getMessage()));
     }
 
+    @Test
+    void findAllItemRequestsContinuesFromCursorTest() {
+        ItemRequestDto older = service.createItemRequest(userDto.getId(), ItemRequestDto.builder()
+                .description("I'm looking for a ladder")
+                .created(requestDto.getCreated().minusHours(2))
+                .build());
+        ItemRequestDto oldest = service.createItemRequest(userDto.getId(), ItemRequestDto.builder()
+                .description("I'm looking for a saw")
+                .created(requestDto.getCreated().minusHours(3))
+                .build());
+        User reader = userRepository.save(makeUser("Thor", "mymail@email.com"));
+
+        List<ItemRequestInfo> firstPage = service.findAllItemRequests(reader.getId(), null, null, PageRequest.of(0, 2));
+        String cursor = RequestCursor.after(firstPage.get(1)).encode();
+        List<ItemRequestInfo> secondPage = service.findAllItemRequests(reader.getId(), cursor, null,
+                PageRequest.of(0, 2));
+
+        assertThat(firstPage.stream().map(ItemRequestInfo::getId).collect(Collectors.toList()),
+                contains(requestDto.getId(), older.getId()));
+        assertThat(secondPage.stream().map(ItemRequestInfo::getId).collect(Collectors.toList()),
+                contains(oldest.getId()));
+    }
+
+    @Test
+    void findAllItemRequestsSinceTest() {
+        service.createItemRequest(userDto.getId(), ItemRequestDto.builder()
+                .description("I'm looking for a ladder")
+                .created(requestDto.getCreated().minusHours(2))
+                .build());
+        User reader = userRepository.save(makeUser("Thor", "mymail@email.com"));
+
+        List<ItemRequestInfo> newRequests = service.findAllItemRequests(reader.getId(), null,
+                requestDto.getCreated().minusHours(1), PageRequest.of(0, 10));
+
+        assertThat(newRequests.size(), is(1));
+        assertThat(newRequests.get(0).getId(), is(requestDto.getId()));
+    }
+
+    @Test
+    void findAllItemRequestsWithMalformedCursorTest() {
+        final ValidationException exception = assertThrows(
+                ValidationException.class,
+                () -> service.findAllItemRequests(userDto.getId(), "not a cursor", null, PageRequest.of(0, 10)));
+
+        assertThat(exception.getMessage(), is("The cursor is malformed"));
+    }
+
     private Item makeItem(String name, String description, Boolean available, User owner, ItemRequest itemRequest) {
         Item.ItemBuilder builder = Item.builder();
 
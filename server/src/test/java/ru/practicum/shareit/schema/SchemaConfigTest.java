@@ -0,0 +1,111 @@
+package ru.practicum.shareit.schema;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.schema.SchemaConfig;
+import ru.practicum.schema.SchemaProperties;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SchemaConfigTest {
+    private final Flyway flyway = mock(Flyway.class);
+
+    @Test
+    void defaultBootOnlyValidates() {
+        strategy(new SchemaProperties()).migrate(flyway);
+
+        verify(flyway).validate();
+        verify(flyway, never()).migrate();
+        verify(flyway, never()).getConfiguration();
+    }
+
+    @Test
+    void migrateProfileAppliesMigrations() {
+        SchemaProperties properties = new SchemaProperties();
+        properties.setMigrate(true);
+
+        when(flyway.validateWithResult())
+                .thenReturn(new ValidateResult("", "", null, true, 0, List.of(), List.of()));
+
+        strategy(properties).migrate(flyway);
+
+        verify(flyway).migrate();
+        verify(flyway, never()).validate();
+        verify(flyway, never()).repair();
+    }
+
+    @Test
+    void seedProfileEmptiesTheTablesAndRestartsTheIds() {
+        JdbcDataSource dataSource = h2("seed");
+        Flyway migrated = flywayOf(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        SchemaProperties properties = new SchemaProperties();
+        properties.setMigrate(true);
+        properties.setSeed(true);
+
+        strategy(properties).migrate(migrated);
+        jdbcTemplate.update("insert into users (id, name, email) " +
+                "values (nextval('users_seq'), 'John', 'john@mail.com')");
+        strategy(properties).migrate(migrated);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from users", Integer.class), is(0));
+        assertThat(jdbcTemplate.queryForObject("select next value for users_seq", Integer.class), is(1));
+    }
+
+    @Test
+    void migrateProfileRealignsTheChecksumOfACorrectedComment() {
+        JdbcDataSource dataSource = h2("realign");
+        Flyway migrated = flywayOf(dataSource);
+        SchemaProperties properties = new SchemaProperties();
+        properties.setMigrate(true);
+        strategy(properties).migrate(migrated);
+        new JdbcTemplate(dataSource).update("update \"flyway_schema_history\" set \"checksum\" = 0 where \"version\" = '4'");
+
+        strategy(properties).migrate(migrated);
+
+        migrated.validate();
+    }
+
+    @Test
+    void migrateProfileStopsAtAnyOtherChecksumMismatch() {
+        JdbcDataSource dataSource = h2("mismatch");
+        Flyway migrated = flywayOf(dataSource);
+        SchemaProperties properties = new SchemaProperties();
+        properties.setMigrate(true);
+        strategy(properties).migrate(migrated);
+        new JdbcTemplate(dataSource).update("update \"flyway_schema_history\" set \"checksum\" = 0 where \"version\" = '1'");
+
+        assertThrows(FlywayException.class, () -> strategy(properties).migrate(migrated));
+    }
+
+    private JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private Flyway flywayOf(JdbcDataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load();
+    }
+
+    private FlywayMigrationStrategy strategy(SchemaProperties properties) {
+        return new SchemaConfig().flywayMigrationStrategy(properties, new DefaultResourceLoader());
+    }
+}
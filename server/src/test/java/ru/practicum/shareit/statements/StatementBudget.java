@@ -0,0 +1,27 @@
+package ru.practicum.shareit.statements;
+
+import ru.practicum.statements.StatementScope;
+
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    public static int within(int budget, Callable<?> call) throws Exception {
+        int count = count(call);
+        assertThat("SQL statements", count, lessThanOrEqualTo(budget));
+        return count;
+    }
+
+    public static int count(Callable<?> call) throws Exception {
+        try (StatementScope scope = StatementScope.open()) {
+            call.call();
+            return scope.count();
+        }
+    }
+}
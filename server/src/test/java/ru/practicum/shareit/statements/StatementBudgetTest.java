@@ -0,0 +1,185 @@
+package ru.practicum.shareit.statements;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.dto.BookingBatchResult;
+import ru.practicum.booking.dto.BookingDto;
+import ru.practicum.booking.dto.BookingInfo;
+import ru.practicum.booking.service.BookingService;
+import ru.practicum.item.dto.ItemDto;
+import ru.practicum.item.service.ItemService;
+import ru.practicum.request.dto.ItemRequestDto;
+import ru.practicum.request.service.RequestService;
+import ru.practicum.user.dto.UserDto;
+import ru.practicum.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// statement budgets per endpoint, the count must not grow with the size of the page
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@AutoConfigureTestDatabase
+public class StatementBudgetTest {
+    private final MockMvc mvc;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final RequestService requestService;
+    private final EntityManager entityManager;
+    private UserDto owner;
+    private UserDto booker;
+    private int userCount;
+
+    @BeforeEach
+    void setUp() {
+        owner = newUser();
+        booker = newUser();
+    }
+
+    @Test
+    void ownerItemsWithBookings() throws Exception {
+        stockItems(owner, 1);
+        int oneItem = StatementBudget.within(4, () -> perform(owner, "/items", 1));
+
+        UserDto otherOwner = newUser();
+        stockItems(otherOwner, 6);
+        int sixItems = StatementBudget.count(() -> perform(otherOwner, "/items", 6));
+
+        assertThat(sixItems, is(oneItem));
+    }
+
+    @Test
+    void singleItem() throws Exception {
+        ItemDto item = stockItems(owner, 1);
+
+        StatementBudget.within(4, () -> perform(owner, "/items/" + item.getId(), null));
+    }
+
+    @Test
+    void bookingListsOfBookerAndOwner() throws Exception {
+        stockItems(owner, 6);
+
+        StatementBudget.within(2, () -> perform(booker, "/bookings?state=ALL", 6));
+        StatementBudget.within(2, () -> perform(owner, "/bookings/owner?state=FUTURE", 6));
+    }
+
+    @Test
+    void bookingBatch() throws Exception {
+        List<ItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(itemService.createItem(owner.getId(), ItemDto.builder()
+                    .name("Batch tool " + i)
+                    .description("Tool for the statement budget")
+                    .available(true)
+                    .build()));
+        }
+        entityManager.flush();
+
+        // the booker, the items, their approved bookings, one sequence call and one insert batch
+        int twoBookings = StatementBudget.within(5, () -> createBookings(items.subList(0, 2)));
+        int twentyBookings = StatementBudget.count(() -> createBookings(items.subList(2, 20)));
+
+        assertThat(twentyBookings, is(twoBookings));
+    }
+
+    @Test
+    void requestFeedsWithOfferedItems() throws Exception {
+        UserDto requestor = newUser();
+        stockRequests(requestor, 1);
+        int oneRequest = StatementBudget.within(3, () -> perform(requestor, "/requests", 1));
+        StatementBudget.within(2, () -> perform(booker, "/requests/all?from=0&size=20", null));
+
+        UserDto busyRequestor = newUser();
+        stockRequests(busyRequestor, 6);
+        int sixRequests = StatementBudget.count(() -> perform(busyRequestor, "/requests", 6));
+        int allRequests = StatementBudget.within(2, () -> perform(booker, "/requests/all?from=0&size=20", null));
+
+        assertThat(sixRequests, is(oneRequest));
+        assertThat(allRequests, is(2));
+    }
+
+    private UserDto newUser() {
+        userCount++;
+        return userService.createUser(UserDto.builder()
+                .name("Budget user " + userCount)
+                .email("budget" + userCount + "@mail.com")
+                .build());
+    }
+
+    private ItemDto stockItems(UserDto itemOwner, int count) {
+        ItemDto item = null;
+        for (int i = 0; i < count; i++) {
+            item = itemService.createItem(itemOwner.getId(), ItemDto.builder()
+                    .name("Budget tool " + i)
+                    .description("Tool for the statement budget")
+                    .available(true)
+                    .build());
+            BookingInfo booking = bookingService.createBooking(booker.getId(), BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .build());
+            bookingService.approvingBooking(itemOwner.getId(), booking.getId(), true);
+        }
+        // sequence ids let the inserts wait for a flush, they must not land in the counted request
+        entityManager.flush();
+        return item;
+    }
+
+    private void stockRequests(UserDto requestor, int count) {
+        for (int i = 0; i < count; i++) {
+            ItemRequestDto request = requestService.createItemRequest(requestor.getId(), ItemRequestDto.builder()
+                    .description("Need a budget tool " + i)
+                    .build());
+            itemService.createItem(owner.getId(), ItemDto.builder()
+                    .name("Offered tool " + i)
+                    .description("Offered for the statement budget")
+                    .available(true)
+                    .requestId(request.getId())
+                    .build());
+        }
+        entityManager.flush();
+    }
+
+    private List<BookingBatchResult> createBookings(List<ItemDto> items) {
+        List<BookingDto> bookingDtos = items.stream()
+                .map(item -> BookingDto.builder()
+                        .itemId(item.getId())
+                        .start(LocalDateTime.now().plusDays(1))
+                        .end(LocalDateTime.now().plusDays(2))
+                        .build())
+                .collect(Collectors.toList());
+        List<BookingBatchResult> results = bookingService.createBookings(booker.getId(), bookingDtos);
+        entityManager.flush();
+        return results;
+    }
+
+    private ResultActions perform(UserDto user, String uri, Integer expectedSize) throws Exception {
+        ResultActions result = mvc.perform(get(uri).header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+        if (expectedSize != null) {
+            result.andExpect(jsonPath("$.length()", is(expectedSize)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.statements;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.statements.StatementCountingInspector;
+import ru.practicum.statements.StatementGuardFilter;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class StatementGuardFilterTest {
+    private final StatementGuardFilter filter = new StatementGuardFilter(2);
+
+    @Test
+    void warnsWhenRequestRunsTooManyStatements(CapturedOutput output) throws Exception {
+        run(3);
+
+        assertThat(output.getOut(), containsString("GET /items ran 3 SQL statements, more than the 2 allowed"));
+    }
+
+    @Test
+    void keepsQuietWithinTheLimit(CapturedOutput output) throws Exception {
+        run(2);
+
+        assertThat(output.getOut(), not(containsString("SQL statements")));
+    }
+
+    private void run(int statements) throws Exception {
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                StatementCountingInspector inspector = new StatementCountingInspector();
+                for (int i = 0; i < statements; i++) {
+                    inspector.inspect("select 1");
+                }
+            }
+        };
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+    }
+}
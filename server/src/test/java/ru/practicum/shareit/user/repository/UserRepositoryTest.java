@@ -102,6 +102,6 @@ public class UserRepositoryTest {
     }
 
     private void resetIdColumns() {
-        entityManager.getEntityManager().createNativeQuery("ALTER TABLE users ALTER COLUMN id RESTART WITH 1").executeUpdate();
+        entityManager.getEntityManager().createNativeQuery("ALTER SEQUENCE users_seq RESTART WITH 1").executeUpdate();
     }
 }
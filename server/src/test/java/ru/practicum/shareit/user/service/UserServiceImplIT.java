@@ -78,6 +78,6 @@ public class UserServiceImplIT {
     }
 
     private void resetIdColumns() {
-        entityManager.createNativeQuery("ALTER TABLE users ALTER COLUMN id RESTART WITH 1").executeUpdate();
+        entityManager.createNativeQuery("ALTER SEQUENCE users_seq RESTART WITH 1").executeUpdate();
     }
 }
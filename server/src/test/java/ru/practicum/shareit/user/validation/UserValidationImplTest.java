@@ -63,6 +63,6 @@ public class UserValidationImplTest {
     }
 
     private void resetIdColumns() {
-        entityManager.createNativeQuery("ALTER TABLE users ALTER COLUMN id RESTART WITH 1").executeUpdate();
+        entityManager.createNativeQuery("ALTER SEQUENCE users_seq RESTART WITH 1").executeUpdate();
     }
 }